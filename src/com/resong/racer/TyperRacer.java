@@ -2,308 +2,174 @@ package com.resong.racer;
 
 /**
  * Class to construct a TyperRacer object, and is a child class of GameWindow. 
- * Uses various methods to create obstacles and remove them in the game, 
- * determine if the game is ready to be played, and determine the actions 
- * taken when the user presses certain keys on the keyboard. 
+ * Loads the dictionary and passes the events of the game window on to a 
+ * GameEngine, which holds the rules of the game and uses the window as its 
+ * scene. Every session has a seed, and if the racer.record system property 
+ * names a folder, such as -Dracer.record=recordings, its events are recorded 
+ * there so the session can be played back with a SessionReplayer. 
  * 
  * @author CS1027 and Rebecca Song
  */
 
-import java.awt.event.KeyEvent;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.util.Random;
+import java.io.File;
+import java.io.IOException;
 
 import javax.swing.UIManager;
 
+import com.resong.racer.dictionary.DictionaryLoader;
+import com.resong.racer.engine.GameEngine;
+import com.resong.racer.engine.SessionRecorder;
 import com.resong.racer.objects.FrameEvent;
 import com.resong.racer.objects.GameWindow;
-import com.resong.racer.objects.HUD;
 import com.resong.racer.objects.Obstacle;
-import com.resong.racer.structures.ArrayIndexedList;
-import com.resong.racer.structures.Trie;
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.InputRingBuffer;
 
 public class TyperRacer extends GameWindow {
 
-	/////////////// Attributes ///////////////
+	/////////////// Constants ///////////////
+
+	// System property naming the folder to record sessions in; unset to not
+	// record them
+	private final static String RECORD_PROPERTY = "racer.record";
 
-	private Trie<Obstacle> obstacles; // trie storing current obstacles in level and their words
+	/////////////// Attributes ///////////////
 
-	private ArrayIndexedList<String> words; // list storing words from dictionary
+	private GameEngine<Obstacle> engine; // rules of the game, played out in this window
 
-	private int fElapsed; // number of frames elapsed since last frame elapse
+	private SessionRecorder recorder; // records the session, or null if not recording
 
-	private int fThreshold; // threshold number of frames
+	private InputRingBuffer.KeyHandler keyHandler; // handles key presses drained from the input queue
 
 	/////////////// Constructors ///////////////
 
 	public TyperRacer() throws Exception {
-		super();
-		this.obstacles = new Trie<Obstacle>();
-		this.words = this.getWords();
-		this.fElapsed = 0;
-		this.fThreshold = 200;
-
+		this(System.nanoTime());
 	}
 
-	////////////// Methods ///////////////
-
-	/**
-	 * Method to determine if the game is ready for the user to play.
-	 */
-
-	public void gameReady() {
-
-		try {
-
-			// get the HUD and set the player's health to max health (100)
-
-			HUD display = this.getHUD();
-			display.setHealth(100);
+	public TyperRacer(long seed) throws Exception {
+		super(GameEngine.sceneryRandom(seed));
+		CompactWordList words = this.getWords();
+		this.engine = new GameEngine<Obstacle>(this, words, GameEngine.rulesRandom(seed));
+		this.keyHandler = this::handleKey;
+		System.out.println("Session seed: " + seed);
 
-			// create a Random object, and assign the size of the list to size
+		// if asked to record, start a recording of the session that is
+		// finished even if the window is closed mid-game
 
-			Random randomGenerator = new Random();
-			int size = this.words.size();
+		String recordingDir = System.getProperty(RECORD_PROPERTY);
 
-			// loop through and add 10 random obstacles to the game
-
-			for (int i = 0; i < 10; i++) {
-				int random = randomGenerator.nextInt(size);
-				this.addWord(this.words.get(random));
+		if (recordingDir != null && !recordingDir.isEmpty()) {
+			try {
+				new File(recordingDir).mkdirs();
+				File file = new File(recordingDir, "session-" + seed + ".rec");
+				this.recorder = new SessionRecorder(file.getPath(), seed, words.size());
+				this.engine.setCollisionHandler(this.recorder::collision); // record the collisions the engine finds
+				Runtime.getRuntime().addShutdownHook(new Thread(() -> this.recorder.close()));
+				System.out.println("Recording to " + file.getPath());
+			} catch (IOException e) {
+				System.out.println("Not recording: " + e.getMessage());
 			}
-
-			super.startGame(); // displays the game window and starts moving the player avatar
 		}
-
-		catch (Exception e) {
-			System.out.println("Not Ready"); // print message saying game is not ready
-		}
-
 	}
 
-	/**
-	 * Helper method to read and add words from the provided dictionary file to an
-	 * ArrayIndexList of strings.
-	 * 
-	 * @return ArrayIndexedList<String> list of strings from dictionary file
-	 * @throws Exception
-	 */
-
-	private ArrayIndexedList<String> getWords() throws Exception {
-
-		// create new ArrayIndexedList<String> called
-		// dictionary, and declare a String line
-
-		ArrayIndexedList<String> dictionary = new ArrayIndexedList<String>();
-		String line;
-
-		try {
-			// create a BufferedReader object to read the dictionary file
-			// line by line, and add each line to the list if it isn't null
-			BufferedReader br = new BufferedReader(new FileReader("src/resources/dictionary.txt"));
-			while ((line = br.readLine()) != null) {
-				dictionary.addToRear(line);
-			}
-			return dictionary; // return the list
-		}
-
-		catch (Exception ex) {
-			System.out.println("Error reading dictionary: " + ex); // print error message
-			return null;
-		}
-	}
+	////////////// Methods ///////////////
 
 	/**
-	 * Helper method to add an obstacle to the game with the word passed to this
-	 * method associated with it
-	 * 
-	 * @param word String to be associated with the new object
-	 * @throws Exception throws exception passed from the add methods
+	 * Method to determine if the game is ready for the user to play.
 	 */
 
-	private void addWord(String word) throws Exception {
-		Obstacle ob = super.addObstacle(word); // super class adds an obstacle
-		this.obstacles.add(word, ob); // add the word and obstacle to the trie
+	public void gameReady() {
+		if (this.recorder != null) {
+			this.recorder.start();
+		}
+		this.engine.start(); // sets the health, adds the first obstacles and starts the game
 	}
 
 	/**
-	 * Method determines what actions to take when the user presses a key.
+	 * Helper method to load the words from the provided dictionary file into a
+	 * compact word list, which stores every word in one shared byte array. Prints
+	 * the statistics of the load.
 	 * 
-	 * @param e KeyEvent
+	 * @return CompactWordList list of words from dictionary file
+	 * @throws IOException throws exception if the dictionary can't be read
 	 */
 
-	public void keyPressed(KeyEvent e) {
-
-		// switch between the following actions based on
-		// what e.getKeyCode() returns
-
-		switch (e.getKeyCode()) {
+	private CompactWordList getWords() throws IOException {
+		DictionaryLoader loader = new DictionaryLoader();
+		CompactWordList list = loader.load(); // read the dictionary and split it into words
 
-		// if space bar is pressed, pause the game
-		// if it is not paused already, else resume the game
-
-		case KeyEvent.VK_SPACE:
-			HUD display = this.getHUD();
-			if (!display.isPaused()) {
-				display.setPaused(true);
-			} else {
-				display.setPaused(false);
-			}
-			this.pauseResume();
-			break;
-
-		// if the left arrow key is pressed and the game is
-		// not paused, and the player's x-position is greater than
-		// or equal to -2.65 (i.e. player is still on the road),
-		// move the player left by 0.1 units
-
-		case KeyEvent.VK_LEFT:
-			if ((!this.getHUD().isPaused()) && this.getPlayerX() >= -2.65) {
-				this.movePlayerX((float) -0.1);
-			}
-			break;
-
-		// if the right arrow key is pressed and the game is
-		// not paused, and the player's x-position is less than or
-		// equal to 2.65 (i.e. player is still on the road), move
-		// the player right by 0.1 units
-
-		case KeyEvent.VK_RIGHT:
-			if ((!this.getHUD().isPaused()) && this.getPlayerX() <= 2.65) {
-				this.movePlayerX((float) +0.1);
-			}
-			break;
-
-		// if any other key is pressed
-
-		default:
-			display = this.getHUD(); // get the HUD
-			display.appendCharacter(e.getKeyChar()); // append the character pressed by the user to the word in the HUD
-
-			// if the trie doesn't contain the word in the
-			// HUD as a prefix, erase the word from the HUD
-
-			if (!obstacles.containsPrefix(display.getCurrentWord())) {
-				display.setCurrentWord("");
-			}
-
-			try {
-
-				// if the trie contains the current word in the HUD,
-				// remove the word from the trie, erase it from the HUD
-				// and increment the word count
-
-				if (obstacles.contains(display.getCurrentWord())) {
-					(obstacles.remove(display.getCurrentWord())).remove();
-					display.setCurrentWord("");
-					display.incrementWordCount();
-
-				}
-			}
-
-			catch (Exception ex) {
-				return; // return
-			}
-		}
+		System.out.println(loader.getStats()); // print the load statistics
+		return list; // return the list
 	}
 
 	/**
-	 * Method called when player collides with an obstacle. It decrements the
-	 * player's health, and ends the game if the player's health reaches 0.
+	 * Helper method that determines what actions to take for a key press drained
+	 * from the input queue.
+	 * 
+	 * @param keyCode int virtual key code of the key
+	 * @param keyChar char character of the key
+	 * @param time    long time the key was pressed, from System.nanoTime()
 	 */
 
-	public void collisionOccurred() {
-
-		// get HUD and decrement health by 5 units
-
-		HUD display = this.getHUD();
-		display.decrementHealth(5);
-
-		// if player health is 0, end the game
-
-		if (display.getHealth() == 0) {
-			this.gameOver();
+	private void handleKey(int keyCode, char keyChar, long time) {
+		if (this.recorder != null) {
+			this.recorder.key(keyCode, keyChar);
 		}
-
+		this.engine.keyPressed(keyCode, keyChar);
 	}
 
 	/**
-	 * Method that increments the frames elapsed, and adds an obstacle and resets
-	 * the frames elapsed to 0 if it surpasses the frames threshold. If the player's
-	 * z-position is greater than 184, increment the current level, add a number of
-	 * obstacles to the game equivalent to the current level, decrement the frames
-	 * threshold and repaint the game objects.
+	 * Method that handles the key presses queued since the last frame, then passes
+	 * the simulation steps passed and the player's z-position on to the engine,
+	 * which adds obstacles, finds collisions and moves up a level as the player
+	 * drives. Frames drawn
+	 * between two steps only handle keys, so the game runs at the same pace at any
+	 * frame rate.
 	 * 
 	 * @param event FrameEvent
 	 */
 
 	public void tick(FrameEvent event) {
+		int steps = event.getSteps();
+		float position = event.getPosition().getZ();
 
-		try {
-
-			// increment number of frames elapsed and create a new Random object
-
-			this.fElapsed += event.getFrameCountSinceLastEvent();
-			Random randomGenerator = new Random();
-
-			// if number of frames elapsed is equal or greater than the threshold
-
-			if (this.fElapsed >= this.fThreshold) {
-
-				// get a random integer within the boundaries of the word list
-				// and add an obstacle with a word associated with it from the
-				// corresponding index in the words list
-
-				int random = randomGenerator.nextInt(this.words.size());
-				this.addWord(this.words.get(random));
-				this.fElapsed = 0; // reset frames elapsed to 0
-
-			}
-
-			// get z position of player
-
-			int position = (int) event.getPosition().getZ();
+		// handle every key pressed since the last frame, in one batch
 
-			// if position is equal to or greater than 185
+		this.getInput().drain(this.keyHandler);
 
-			if (position > 184) {
+		// if no step has passed since the last frame, there is nothing to do
 
-				// get the HUD and increment the level
-
-				HUD display = this.getHUD();
-				display.incrementLevel();
-
-				// add the number of obstacles with random words
-				// corresponding to the number of the current level
-
-				for (int i = 0; i < display.getLevel(); i++) {
-					int random = randomGenerator.nextInt(this.words.size());
-					this.addWord(this.words.get(random));
-				}
+		if (steps == 0) {
+			return;
+		}
 
-				// decrement the frames threshold so long
-				// as it is not lower than 50
+		if (this.recorder != null) {
+			this.recorder.frame(steps, position);
+		}
+		this.engine.tick(steps, position);
 
-				if (this.fThreshold >= 60) {
-					this.fThreshold -= 10;
-				}
+		if (this.recorder != null) {
+			this.recorder.checkpoint(this.engine);
+		}
 
-				this.repaintObjects(); // repaint objects
+		// if the game is over, finish the recording and print the input
+		// queue, scene change and obstacle pool statistics
 
+		if (this.getHUD().isGameOver()) {
+			if (this.recorder != null) {
+				this.recorder.close(this.engine);
 			}
+			System.out.println("Input: " + this.getInput());
+			System.out.println("Scene changes: " + this.getSceneChanges());
+			System.out.println("Obstacle pool: " + this.getObstaclePool());
 		}
-
-		catch (Exception e) {
-			System.out.println("Invalid object added."); // error message indicating object wasn't added
-		}
-
 	}
 
 	/**
 	 * Main method creates a TyperRacer object and runs the game
 	 * 
-	 * @param args
+	 * @param args String array holding an optional seed for the session
 	 * @throws Exception
 	 */
 
@@ -320,7 +186,7 @@ public class TyperRacer extends GameWindow {
 			public void run() {
 
 				try {
-					TyperRacer game = new TyperRacer();
+					TyperRacer game = (args.length > 0) ? new TyperRacer(Long.parseLong(args[0])) : new TyperRacer();
 				} catch (Exception ex) {
 					System.out.println(ex.toString());
 				}
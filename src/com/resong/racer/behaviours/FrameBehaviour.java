@@ -33,9 +33,11 @@ import javax.media.j3d.WakeupCondition;
 import javax.media.j3d.WakeupCriterion;
 import javax.media.j3d.WakeupOnElapsedFrames;
 import javax.media.j3d.WakeupOr;
-import javax.swing.event.EventListenerList;
 import javax.vecmath.Vector3f;
 
+import com.resong.racer.engine.FixedTimestepClock;
+import com.resong.racer.engine.GameEngine;
+import com.resong.racer.listeners.EventBus;
 import com.resong.racer.listeners.FrameListener;
 import com.resong.racer.objects.FrameEvent;
 
@@ -51,8 +53,8 @@ public class FrameBehaviour extends Behavior {
 	 * CONSTANT DECLARATIONS
 	 **************************************************************************/
 
-	// Number of frames to wait before next notifying listeners
-	private int ELAPSED_FRAMES = 10;
+	// Number of frames between notifications, unless batched
+	private final static int DEFAULT_FRAMES_PER_EVENT = 1;
 
 	/***************************************************************************
 	 * INSTANCE VARIABLES
@@ -71,27 +73,60 @@ public class FrameBehaviour extends Behavior {
 	private TransformGroup transformGroup;
 
 	// Elapsed frame listeners
-	private EventListenerList listenerList;
+	private EventBus<FrameListener> listeners;
+
+	// Turns the time between frames into simulation steps
+	private FixedTimestepClock clock;
+
+	// Number of frames between notifications
+	private int framesPerEvent;
+
+	// Reused for every notification, so notifying allocates nothing
+	private Vector3f translate;
+	private Transform3D t3d;
+	private FrameEvent event;
 
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
 
 	/**
-	 * Sets up elapsed frame monitoring, firing notifications every ELAPSED_FRAMES
-	 * frames. Each time a notification is fired, the coordinates of the specified
-	 * transform group are passed to all listeners
+	 * Sets up elapsed frame monitoring, firing notifications every frame. Each time
+	 * a notification is fired, the coordinates of the specified transform group are
+	 * passed to all listeners, along with the number of simulation steps, at
+	 * GameEngine.STEP_RATE steps per second, that have passed since the last one
 	 * 
 	 * @param tg Transform group whose coordinates will be included in notifications
 	 */
 	public FrameBehaviour(TransformGroup tg) {
+		this(tg, DEFAULT_FRAMES_PER_EVENT);
+	}
+
+	/**
+	 * Sets up elapsed frame monitoring, firing one notification for every batch of
+	 * the specified number of frames. The notification carries all the simulation
+	 * steps that passed during the batch
+	 * 
+	 * @param tg             Transform group whose coordinates will be included in
+	 *                       notifications
+	 * @param framesPerEvent Number of frames in each batch, at least 1
+	 */
+	public FrameBehaviour(TransformGroup tg, int framesPerEvent) {
 
+		this.framesPerEvent = Math.max(1, framesPerEvent);
 		criteria = new WakeupCriterion[1];
 		transformGroup = tg;
-		wakeup = new WakeupOnElapsedFrames(ELAPSED_FRAMES);
+
+		// WakeupOnElapsedFrames counts the frames to skip, so 0 wakes every frame
+		wakeup = new WakeupOnElapsedFrames(this.framesPerEvent - 1);
 		criteria[0] = wakeup;
 		wakeupCondition = new WakeupOr(criteria);
-		listenerList = new EventListenerList();
+		listeners = new EventBus<FrameListener>(FrameListener.class);
+		clock = new FixedTimestepClock(GameEngine.STEP_RATE);
+
+		translate = new Vector3f();
+		t3d = new Transform3D();
+		event = new FrameEvent(translate, this.framesPerEvent, 0, 0);
 	}
 
 	/***************************************************************************
@@ -104,7 +139,7 @@ public class FrameBehaviour extends Behavior {
 	 * @param listener The listener to subscribe
 	 */
 	public void addFrameListener(FrameListener listener) {
-		listenerList.add(FrameListener.class, listener);
+		listeners.add(listener);
 	}
 
 	/**
@@ -113,11 +148,11 @@ public class FrameBehaviour extends Behavior {
 	 * @param listener The listener to unsubscribe
 	 */
 	public void removeFrameListener(FrameListener listener) {
-		listenerList.remove(FrameListener.class, listener);
+		listeners.remove(listener);
 	}
 
 	/**
-	 * Sets the behaviour to wake up after ELAPSED_FRAMES frames
+	 * Sets the behaviour to wake up at the end of the first batch of frames
 	 */
 	@Override
 	public void initialize() {
@@ -137,19 +172,25 @@ public class FrameBehaviour extends Behavior {
 
 			criteria.nextElement();
 
-			// Get the current translation of the transform group
-			Vector3f translate = new Vector3f();
-			Transform3D t3d = new Transform3D();
+			// Turn the time since the last batch into simulation steps
+			int steps = clock.advance(System.nanoTime());
+
+			// If nobody is listening, there is no event to fill in
+			if (listeners.isEmpty()) {
+				continue;
+			}
+
+			// Get the current translation of the transform group into the
+			// event's position vector
 			transformGroup.getTransform(t3d);
 			t3d.get(translate);
 
-			// Create a new FrameEvent to pass to listeners, passing in the
-			// current translation of the transform group, as well as the
-			// number of elapsed frames since the last notification
-			FrameEvent evt = new FrameEvent(translate, ELAPSED_FRAMES);
+			// Fill in the reused FrameEvent with the number of elapsed frames
+			// since the last notification, and the steps
+			event.update(framesPerEvent, steps, clock.alpha());
 
 			// Notify all listeners
-			this.fireTickEvent(evt);
+			this.fireTickEvent(event);
 		}
 
 		// Set wakeup criteria for next time
@@ -161,20 +202,15 @@ public class FrameBehaviour extends Behavior {
 	 **************************************************************************/
 
 	/**
-	 * Notifies all listeners that ELAPSED_FRAMES frames have elapsed
+	 * Notifies all listeners that a batch of frames has elapsed
 	 * 
 	 * @param evt The FrameEvent to pass to all listeners
 	 */
 	protected void fireTickEvent(FrameEvent evt) {
 
-		// Get the listeners
-		Object[] listeners = listenerList.getListenerList();
-
-		// Iterate over the listeners, notifying each one
-		for (int i = 0; i < listeners.length; i += 2) {
-			if (listeners[i] == FrameListener.class) {
-				((FrameListener) listeners[i + 1]).tick(evt);
-			}
+		// Iterate over the current listeners, notifying each one
+		for (FrameListener listener : listeners.getListeners()) {
+			listener.tick(evt);
 		}
 	}
 }
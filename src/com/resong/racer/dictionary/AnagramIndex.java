@@ -0,0 +1,237 @@
+package com.resong.racer.dictionary;
+
+/**
+ * AnagramIndex class groups the words of a dictionary by their signature: their
+ * letters in sorted order, so "stop", "pots" and "tops" all have the signature
+ * "opst". The signatures are worked out in one parallel pass over the list and
+ * the words grouped in a hash map, so all the anagrams of a set of letters are
+ * found with a single lookup, however large the dictionary.
+ *
+ * Sub-anagrams, the words that can be made from some of the letters, are found by
+ * enumerating the sub-multisets of the letters, which are built already sorted,
+ * and looking each one up. The number of lookups depends only on the letters
+ * given, never on the size of the dictionary.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.resong.racer.structures.CompactWordList;
+
+public class AnagramIndex {
+
+	//////////// Attributes /////////////
+
+	private CompactWordList words; // list the words come from
+
+	private Map<String, int[]> groups; // word indices of each signature, in ascending order
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that builds the index over every word in the list
+	 *
+	 * @param words CompactWordList list of words to index
+	 */
+
+	public AnagramIndex(CompactWordList words) {
+		this.words = words;
+
+		// work out the signatures in parallel, grouping the word
+		// indices by signature as they are found
+
+		ConcurrentMap<String, List<Integer>> found = IntStream.range(0, words.size()).parallel().boxed()
+				.collect(Collectors.groupingByConcurrent(i -> signature(words.view(i))));
+
+		// store each group as a sorted int array
+
+		this.groups = new HashMap<String, int[]>(found.size() * 4 / 3 + 1);
+
+		for (Map.Entry<String, List<Integer>> entry : found.entrySet()) {
+			List<Integer> list = entry.getValue();
+			int[] indices = new int[list.size()];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = list.get(i);
+			}
+			Arrays.sort(indices);
+			groups.put(entry.getKey(), indices);
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that returns the signature of some letters: the letters in lower case,
+	 * in ascending order.
+	 *
+	 * @param letters CharSequence letters to sign
+	 * @return String sorted letters
+	 */
+
+	public static String signature(CharSequence letters) {
+		char[] sorted = new char[letters.length()];
+
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = Character.toLowerCase(letters.charAt(i));
+		}
+		Arrays.sort(sorted);
+		return new String(sorted);
+	}
+
+	/**
+	 * Method that returns the words made of exactly the given letters, in
+	 * dictionary order. The letters can be in any order.
+	 *
+	 * @param letters CharSequence letters to rearrange, such as "tpso"
+	 * @return List<String> words using every letter once
+	 */
+
+	public List<String> anagramsOf(CharSequence letters) {
+		int[] indices = groups.get(signature(letters));
+		List<String> result = new ArrayList<String>();
+
+		if (indices != null) {
+			for (int index : indices) {
+				result.add(words.get(index));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Method that returns the number of words made of exactly the given letters.
+	 *
+	 * @param letters CharSequence letters to rearrange
+	 * @return int number of anagrams
+	 */
+
+	public int countAnagramsOf(CharSequence letters) {
+		int[] indices = groups.get(signature(letters));
+		return (indices == null) ? 0 : indices.length;
+	}
+
+	/**
+	 * Method that returns the words that can be made from some or all of the given
+	 * letters, using each letter no more often than it is given, and with at least
+	 * the given length. The words are returned in dictionary order.
+	 *
+	 * @param letters   CharSequence letters available
+	 * @param minLength int shortest word wanted
+	 * @return List<String> words that can be made from the letters
+	 */
+
+	public List<String> subAnagramsOf(CharSequence letters, int minLength) {
+		String sorted = signature(letters);
+
+		// split the sorted letters into distinct letters and their counts
+
+		char[] distinct = new char[sorted.length()];
+		int[] counts = new int[sorted.length()];
+		int kinds = 0;
+
+		for (int i = 0; i < sorted.length(); i++) {
+			if (kinds == 0 || distinct[kinds - 1] != sorted.charAt(i)) {
+				distinct[kinds++] = sorted.charAt(i);
+			}
+			counts[kinds - 1]++;
+		}
+
+		// look up every sub-multiset long enough, gathering the indices
+
+		List<int[]> matches = new ArrayList<int[]>();
+		collect(distinct, counts, kinds, 0, new StringBuilder(), sorted.length(), Math.max(minLength, 1), matches);
+
+		int total = 0;
+		for (int[] indices : matches) {
+			total += indices.length;
+		}
+
+		int[] all = new int[total];
+		int count = 0;
+		for (int[] indices : matches) {
+			System.arraycopy(indices, 0, all, count, indices.length);
+			count += indices.length;
+		}
+		Arrays.sort(all);
+
+		List<String> result = new ArrayList<String>(total);
+		for (int index : all) {
+			result.add(words.get(index));
+		}
+		return result;
+	}
+
+	/**
+	 * Method that returns the number of distinct signatures in the index.
+	 *
+	 * @return int number of signatures
+	 */
+
+	public int signatures() {
+		return groups.size(); // return number of groups
+	}
+
+	/**
+	 * Method that returns the number of words in the index.
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return words.size(); // return size of the word list
+	}
+
+	/**
+	 * Helper method that builds each sub-multiset of the letters in sorted order,
+	 * choosing how many of each distinct letter to use, and looks it up. Branches
+	 * that can't reach the minimum length with the letters left are skipped.
+	 *
+	 * @param distinct  char array of the distinct letters, in ascending order
+	 * @param counts    int array of how often each letter is available
+	 * @param kinds     int number of distinct letters
+	 * @param next      int distinct letter to choose a count for
+	 * @param prefix    StringBuilder letters chosen so far
+	 * @param left      int number of letters not yet chosen or skipped
+	 * @param minLength int shortest word wanted
+	 * @param matches   List<int[]> groups found so far
+	 */
+
+	private void collect(char[] distinct, int[] counts, int kinds, int next, StringBuilder prefix, int left,
+			int minLength, List<int[]> matches) {
+
+		if (prefix.length() + left < minLength) {
+			return;
+		}
+
+		// once every letter has a count, look the signature up
+
+		if (next == kinds) {
+			int[] indices = groups.get(prefix.toString());
+			if (indices != null) {
+				matches.add(indices);
+			}
+			return;
+		}
+
+		// try each count of this letter, from none to all of them
+
+		int length = prefix.length();
+
+		for (int use = 0; use <= counts[next]; use++) {
+			if (use > 0) {
+				prefix.append(distinct[next]);
+			}
+			collect(distinct, counts, kinds, next + 1, prefix, left - counts[next], minLength, matches);
+		}
+		prefix.setLength(length);
+	}
+}
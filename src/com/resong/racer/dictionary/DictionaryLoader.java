@@ -0,0 +1,174 @@
+package com.resong.racer.dictionary;
+
+/**
+ * DictionaryLoader class loads a dictionary file, with one word per line, into a
+ * CompactWordList. A file or classpath resource is read whole, in one bulk
+ * read, into the array that becomes the list's arena, then split into words by
+ * a single loop over the bytes, so no String or line buffer is created per
+ * word. Lines that are empty or hold
+ * anything other than printable ASCII characters are skipped and counted as
+ * rejected. Statistics about the last load are kept and can be read afterwards.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.resong.racer.structures.CompactWordList;
+
+public class DictionaryLoader {
+
+	//////////// Attributes /////////////
+
+	// Location of the dictionary in the source tree, and its name as a resource
+	public static final String DEFAULT_PATH = "src/resources/dictionary.txt";
+	public static final String DEFAULT_RESOURCE = "resources/dictionary.txt";
+
+	private DictionaryStats stats; // statistics of the last load, or null
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a loader that hasn't loaded anything yet
+	 */
+
+	public DictionaryLoader() {
+		this.stats = null;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that loads the default dictionary. The file in the source tree is used
+	 * if it exists, otherwise the dictionary is read from the classpath.
+	 *
+	 * @return CompactWordList list of the words in the dictionary
+	 * @throws IOException throw exception if the dictionary can't be found or read
+	 */
+
+	public CompactWordList load() throws IOException {
+		Path path = Paths.get(DEFAULT_PATH);
+
+		if (Files.isRegularFile(path)) {
+			return load(path);
+		}
+		return loadResource(DEFAULT_RESOURCE);
+	}
+
+	/**
+	 * Method that loads a dictionary from a file, reading it straight into the arena.
+	 *
+	 * @param path Path of the dictionary file
+	 * @return CompactWordList list of the words in the file
+	 * @throws IOException throw exception if the file can't be read or is too large
+	 */
+
+	public CompactWordList load(Path path) throws IOException {
+		long start = System.nanoTime();
+
+
+		// the arena is a single array, so the file must fit in one
+
+		if (Files.size(path) > Integer.MAX_VALUE - 8) {
+			throw new IOException("Dictionary too large: " + path);
+		}
+
+		return split(Files.readAllBytes(path), path.toString(), start);
+	}
+
+	/**
+	 * Method that loads a dictionary from the classpath, reading the resource
+	 * straight into the arena.
+	 *
+	 * @param name String name of the resource, such as "resources/dictionary.txt"
+	 * @return CompactWordList list of the words in the resource
+	 * @throws IOException throw exception if the resource can't be found or read
+	 */
+
+	public CompactWordList loadResource(String name) throws IOException {
+		long start = System.nanoTime();
+
+		try (InputStream in = DictionaryLoader.class.getClassLoader().getResourceAsStream(name)) {
+			if (in == null) {
+				throw new FileNotFoundException("Dictionary resource not found: " + name);
+			}
+			return split(in.readAllBytes(), name, start);
+		}
+	}
+
+	/**
+	 * Accessor method that returns the statistics of the last load
+	 *
+	 * @return DictionaryStats statistics of the last load, or null if nothing has
+	 *         been loaded
+	 */
+
+	public DictionaryStats getStats() {
+		return this.stats; // return stats
+	}
+
+	/**
+	 * Helper method that splits the raw bytes of a dictionary into words, moving
+	 * each word down over the line breaks and rejected lines before it so the array
+	 * becomes the arena of the list. Records the statistics of the load.
+	 *
+	 * @param data   byte array holding the file's contents
+	 * @param source String file or resource the bytes came from
+	 * @param start  long System.nanoTime() at the start of the load
+	 * @return CompactWordList list of the words
+	 */
+
+	private CompactWordList split(byte[] data, String source, long start) {
+		int length = data.length;
+
+		// count the newlines so the offsets array is allocated only once
+
+		int lines = 1;
+		for (int i = 0; i < length; i++) {
+			lines += (data[i] == '\n') ? 1 : 0;
+		}
+
+		int[] offsets = new int[lines + 1];
+		int words = 0;
+		int rejected = 0;
+		int write = 0;
+		boolean valid = true;
+
+		// copy each character down, and at the end of each line either
+		// keep it as a word or roll it back if it was empty or invalid
+
+		for (int read = 0; read < length; read++) {
+			byte b = data[read];
+
+			if (b == '\n') {
+				if (valid && write > offsets[words]) {
+					offsets[++words] = write;
+				} else {
+					write = offsets[words];
+					rejected++;
+				}
+				valid = true;
+			} else if (b != '\r') {
+				valid &= (b > ' ' && b < 127);
+				data[write++] = b;
+			}
+		}
+
+		// the last line may not end with a newline
+
+		if (valid && write > offsets[words]) {
+			offsets[++words] = write;
+		} else if (write > offsets[words]) {
+			rejected++;
+		}
+
+		this.stats = new DictionaryStats(source, words, rejected, length, System.nanoTime() - start);
+		return new CompactWordList(data, offsets, words);
+	}
+}
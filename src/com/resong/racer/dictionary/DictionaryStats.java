@@ -0,0 +1,109 @@
+package com.resong.racer.dictionary;
+
+/**
+ * Statistics reported by the DictionaryLoader after loading a dictionary: where
+ * it came from, how many words were kept, how many lines were rejected, how many
+ * bytes were read and how long it took.
+ * 
+ * @author Rebecca Song
+ *
+ */
+
+public class DictionaryStats {
+
+	//////////// Attributes /////////////
+
+	private String source; // file or resource the dictionary was read from
+
+	private int wordCount; // number of words loaded
+
+	private int rejectedLines; // number of lines that weren't valid words
+
+	private long bytes; // number of bytes read
+
+	private long nanos; // time taken to load, in nanoseconds
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes the statistics of a finished load
+	 * 
+	 * @param source        String file or resource the dictionary was read from
+	 * @param wordCount     int number of words loaded
+	 * @param rejectedLines int number of lines that weren't valid words
+	 * @param bytes         long number of bytes read
+	 * @param nanos         long time taken to load, in nanoseconds
+	 */
+
+	public DictionaryStats(String source, int wordCount, int rejectedLines, long bytes, long nanos) {
+		this.source = source;
+		this.wordCount = wordCount;
+		this.rejectedLines = rejectedLines;
+		this.bytes = bytes;
+		this.nanos = nanos;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Accessor method that returns where the dictionary was read from
+	 * 
+	 * @return String file or resource name
+	 */
+
+	public String getSource() {
+		return this.source; // return source
+	}
+
+	/**
+	 * Accessor method that returns the number of words loaded
+	 * 
+	 * @return int number of words
+	 */
+
+	public int getWordCount() {
+		return this.wordCount; // return wordCount
+	}
+
+	/**
+	 * Accessor method that returns the number of lines rejected because they
+	 * weren't valid words
+	 * 
+	 * @return int number of rejected lines
+	 */
+
+	public int getRejectedLines() {
+		return this.rejectedLines; // return rejectedLines
+	}
+
+	/**
+	 * Accessor method that returns the number of bytes read
+	 * 
+	 * @return long number of bytes
+	 */
+
+	public long getBytes() {
+		return this.bytes; // return bytes
+	}
+
+	/**
+	 * Accessor method that returns the time taken to load, in nanoseconds
+	 * 
+	 * @return long load time in nanoseconds
+	 */
+
+	public long getNanos() {
+		return this.nanos; // return nanos
+	}
+
+	/**
+	 * toString method that returns a one line summary of the load
+	 * 
+	 * @return String summary of the statistics
+	 */
+
+	public String toString() {
+		return "Loaded " + wordCount + " words (" + bytes + " bytes, " + rejectedLines + " rejected lines) from "
+				+ source + " in " + (nanos / 1000000.0) + " ms";
+	}
+}
@@ -0,0 +1,309 @@
+package com.resong.racer.dictionary;
+
+/**
+ * FilterBenchmark class measures how much a Bloom filter in front of the
+ * dictionary trie speeds up batch validation. It loads the dictionary into a
+ * trie, a word filter and a prefix filter, then times contains and
+ * containsPrefix over batches of real words, typos and random strings, with and without
+ * the filter answering "definitely not" first. It prints the time per lookup, the
+ * size of each filter in bits per key, and the false positive rate measured on
+ * the random strings.
+ *
+ * Each lookup is timed in a JVM of its own, started by the benchmark, so the
+ * call to the lookup being timed only ever sees one kind of lookup and the
+ * cases timed before it can't slow it down.
+ *
+ * Run with an optional false positive rate, such as 0.01, from the project
+ * directory.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Random;
+
+import com.resong.racer.structures.BloomFilter;
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.PrefixBloomFilter;
+import com.resong.racer.structures.Trie;
+
+public class FilterBenchmark {
+
+	//////////// Attributes /////////////
+
+	// Number of random strings in each batch, and rounds timed after warming up
+	private static final int BATCH = 200000;
+	private static final int ROUNDS = 5;
+
+	// Names of the rows of results; each row times two lookups
+	private static final String[] ROWS = { "contains, random  ", "contains, words   ", "contains, typos   ",
+			"prefix, random    ", "prefix, words     ", "prefix, typos     " };
+
+	private static int sink; // result of every timed loop, so none is optimized away
+
+	private Trie<Integer> trie; // every word in the dictionary
+
+	private BloomFilter filter; // every word in the dictionary
+
+	private PrefixBloomFilter prefixes; // every prefix of every word in the dictionary
+
+	private String[] garbage, real, typos; // random strings, real words, and real words with an extra letter
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that loads the dictionary, builds the trie and both filters, and
+	 * makes the batches of strings to look up
+	 *
+	 * @param rate    double target false positive rate of the filters
+	 * @param verbose boolean true to print how long each part took to build
+	 * @throws Exception throws exception if the dictionary can't be loaded
+	 */
+
+	private FilterBenchmark(double rate, boolean verbose) throws Exception {
+		DictionaryLoader loader = new DictionaryLoader();
+		CompactWordList words = loader.load();
+		print(verbose, loader.getStats().toString());
+
+		this.trie = new Trie<Integer>();
+		this.filter = new BloomFilter(words.size(), rate);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < words.size(); i++) {
+			String word = words.get(i);
+			if (!trie.contains(word)) {
+				trie.add(word, i);
+			}
+		}
+		print(verbose, String.format("Trie built in %.1f ms", (System.nanoTime() - start) / 1e6));
+
+		start = System.nanoTime();
+		for (int i = 0; i < words.size(); i++) {
+			filter.add(words.view(i));
+		}
+		print(verbose,
+				String.format("Word filter built in %.1f ms: %d bits, %.2f bits per word, %d hashes",
+						(System.nanoTime() - start) / 1e6, filter.bitSize(), (double) filter.bitSize() / words.size(),
+						filter.hashCount()));
+
+		start = System.nanoTime();
+		this.prefixes = PrefixBloomFilter.fromList(words, rate);
+		print(verbose, String.format("Prefix filter built in %.1f ms: %d bits, %.2f bits per word, %d hashes",
+				(System.nanoTime() - start) / 1e6, prefixes.bitSize(), (double) prefixes.bitSize() / words.size(),
+				prefixes.hashCount()));
+
+		// make a batch of random lower case strings, a batch of real words, and
+		// a batch of typos made by adding a letter to the end of a real word
+
+		Random random = new Random(42);
+		this.garbage = new String[BATCH];
+		this.real = new String[BATCH];
+		this.typos = new String[BATCH];
+
+		for (int i = 0; i < BATCH; i++) {
+			char[] chars = new char[3 + random.nextInt(8)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = (char) ('a' + random.nextInt(26));
+			}
+			garbage[i] = new String(chars);
+			real[i] = words.get(random.nextInt(words.size()));
+			typos[i] = real[i] + (char) ('a' + random.nextInt(26));
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Main method that runs the benchmark and prints the results. Given a case
+	 * number as well, it only times that case and prints its time per lookup.
+	 *
+	 * @param args String array holding an optional false positive rate and case
+	 *             number
+	 * @throws Exception throws exception if the dictionary can't be loaded or a
+	 *                   case can't be run
+	 */
+
+	public static void main(String[] args) throws Exception {
+		double rate = (args.length > 0) ? Double.parseDouble(args[0]) : 0.01;
+
+		// time a single case, for the JVM running the whole benchmark
+
+		if (args.length > 1) {
+			FilterBenchmark bench = new FilterBenchmark(rate, false);
+			int c = Integer.parseInt(args[1]);
+			System.out.println(time(bench.batch(c), bench.lookup(c)));
+
+			if (sink == 42) {
+				System.out.println();
+			}
+			return;
+		}
+
+		FilterBenchmark bench = new FilterBenchmark(rate, true);
+
+		// measure the false positive rates on the strings that aren't words
+		// or prefixes
+
+		int notWords = 0, wordHits = 0, notPrefixes = 0, prefixHits = 0;
+
+		for (String s : bench.garbage) {
+			if (!bench.trie.contains(s)) {
+				notWords++;
+				wordHits += bench.filter.mightContain(s) ? 1 : 0;
+			}
+			if (!bench.trie.containsPrefix(s)) {
+				notPrefixes++;
+				prefixHits += bench.prefixes.mightContainPrefix(s) ? 1 : 0;
+			}
+		}
+		System.out.printf("Measured false positive rate: words %.4f, prefixes %.4f (target %.4f)%n",
+				(double) wordHits / notWords, (double) prefixHits / notPrefixes, rate);
+
+		// time each kind of lookup in a JVM of its own, keeping the best round
+
+		System.out.println();
+		System.out.println("ns per lookup        trie only   filter first");
+
+		for (int row = 0; row < ROWS.length; row++) {
+			report(ROWS[row], runCase(rate, 2 * row), runCase(rate, 2 * row + 1));
+		}
+	}
+
+	/**
+	 * Helper method that returns the batch of strings a case looks up. Each row
+	 * has two cases, the trie alone and the filter first, over the same batch.
+	 *
+	 * @param c int number of the case
+	 * @return String array of strings to look up
+	 */
+
+	private String[] batch(int c) {
+		switch ((c / 2) % 3) {
+		case 0:
+			return garbage;
+		case 1:
+			return real;
+		default:
+			return typos;
+		}
+	}
+
+	/**
+	 * Helper method that returns the lookup a case times: contains for the first
+	 * three rows and containsPrefix for the last three, by the trie alone for even
+	 * cases and with the filter checked first for odd ones.
+	 *
+	 * @param c int number of the case
+	 * @return Lookup to time
+	 */
+
+	private Lookup lookup(int c) {
+		boolean prefix = c >= 6;
+		boolean filtered = (c % 2) == 1;
+
+		if (prefix) {
+			return filtered ? s -> prefixes.mightContainPrefix(s) && trie.containsPrefix(s)
+					: s -> trie.containsPrefix(s);
+		}
+		return filtered ? s -> filter.mightContain(s) && trie.contains(s) : s -> trie.contains(s);
+	}
+
+	/**
+	 * Helper method that times one case in a new JVM and returns its time per
+	 * lookup
+	 *
+	 * @param rate double target false positive rate of the filters
+	 * @param c    int number of the case
+	 * @return double nanoseconds per lookup in the best round
+	 * @throws Exception throws exception if the JVM can't be started or fails
+	 */
+
+	private static double runCase(double rate, int c) throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				FilterBenchmark.class.getName(), Double.toString(rate), Integer.toString(c));
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+		Process process = builder.start();
+		String last = null;
+
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				last = line;
+			}
+		}
+
+		if (process.waitFor() != 0 || last == null) {
+			throw new IOException("Case " + c + " failed");
+		}
+		return Double.parseDouble(last);
+	}
+
+	/**
+	 * Helper method that prints a line if asked to
+	 *
+	 * @param verbose boolean true to print the line
+	 * @param line    String line to print
+	 */
+
+	private static void print(boolean verbose, String line) {
+		if (verbose) {
+			System.out.println(line);
+		}
+	}
+
+	/**
+	 * Helper method that prints one row of results
+	 *
+	 * @param name     String name of the row
+	 * @param trieOnly double nanoseconds per lookup using the trie alone
+	 * @param filtered double nanoseconds per lookup checking the filter first
+	 */
+
+	private static void report(String name, double trieOnly, double filtered) {
+		System.out.printf("%s %9.1f %14.1f   (%.1fx)%n", name, trieOnly, filtered, trieOnly / filtered);
+	}
+
+	/**
+	 * Helper method that times a lookup over a batch of strings, returning the
+	 * best time per string over several rounds
+	 *
+	 * @param batch  String array of strings to look up
+	 * @param lookup Lookup to time
+	 * @return double nanoseconds per string in the best round
+	 */
+
+	private static double time(String[] batch, Lookup lookup) {
+		long best = Long.MAX_VALUE;
+
+		for (int round = 0; round < ROUNDS + 2; round++) {
+			long start = System.nanoTime();
+			int found = 0;
+			for (String s : batch) {
+				found += lookup.test(s) ? 1 : 0;
+			}
+			long elapsed = System.nanoTime() - start;
+			sink += found;
+
+			// the first two rounds only warm up
+
+			if (round >= 2) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		return (double) best / batch.length;
+	}
+
+	/**
+	 * A membership test to be timed.
+	 */
+
+	private interface Lookup {
+
+		public boolean test(String s);
+	}
+}
@@ -0,0 +1,246 @@
+package com.resong.racer.dictionary;
+
+/**
+ * LetterMaskIndex class groups the words of a dictionary by the set of letters
+ * they use. Each word's letters are stored as a 26-bit mask (bit 0 for 'a' up to
+ * bit 25 for 'z'), and the words are sorted by mask so all the words with the
+ * same mask sit together. The words using only the letters of a set S are then
+ * the groups whose mask is a submask of S. These are found either by enumerating
+ * the submasks of S and looking each one up, or by checking every distinct mask,
+ * whichever is fewer steps, so a query never looks at the words one by one.
+ *
+ * Words holding anything other than the letters a to z (in either case) are
+ * given an extra bit that no letter set contains, so they are never returned.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Arrays;
+
+import com.resong.racer.structures.CompactWordList;
+
+public class LetterMaskIndex {
+
+	//////////// Attributes /////////////
+
+	// Mask holding every letter, and the bit given to words with other characters
+	public static final int ALL_LETTERS = (1 << 26) - 1;
+	public static final int OTHER = 1 << 26;
+
+	// Common letter sets for training modes
+	public static final int HOME_ROW = letters("asdfghjkl");
+	public static final int LEFT_HAND = letters("qwertasdfgzxcvb");
+	public static final int RIGHT_HAND = letters("yuiophjklnm");
+
+	private int[] masks; // distinct masks, in ascending order
+
+	private int[] starts; // start of each mask's group in words, plus the end of the last
+
+	private int[] words; // word indices, grouped by mask
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that builds the index over every word in the list
+	 *
+	 * @param list CompactWordList list of words to index
+	 */
+
+	public LetterMaskIndex(CompactWordList list) {
+		int size = list.size();
+
+		// pack each word's mask and index into one long, so one sort
+		// groups the words by mask and keeps dictionary order within a group
+
+		long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = ((long) mask(list.view(i)) << 32) | i;
+		}
+		Arrays.sort(keys);
+
+		// split the sorted keys into the word indices and their groups
+
+		this.words = new int[size];
+		int[] distinct = new int[size];
+		int[] groupStarts = new int[size + 1];
+		int groups = 0;
+
+		for (int i = 0; i < size; i++) {
+			int mask = (int) (keys[i] >>> 32);
+			words[i] = (int) keys[i];
+			if (groups == 0 || distinct[groups - 1] != mask) {
+				distinct[groups] = mask;
+				groupStarts[groups++] = i;
+			}
+		}
+		groupStarts[groups] = size;
+
+		this.masks = Arrays.copyOf(distinct, groups);
+		this.starts = Arrays.copyOf(groupStarts, groups + 1);
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that returns the letter mask of a word. Letters are counted in either
+	 * case, and any other character sets the OTHER bit.
+	 *
+	 * @param word CharSequence word to mask
+	 * @return int mask of the letters in the word
+	 */
+
+	public static int mask(CharSequence word) {
+		int mask = 0;
+
+		for (int i = 0; i < word.length(); i++) {
+			char c = Character.toLowerCase(word.charAt(i));
+			mask |= (c >= 'a' && c <= 'z') ? 1 << (c - 'a') : OTHER;
+		}
+		return mask;
+	}
+
+	/**
+	 * Method that returns the mask of a set of letters given as a string, such as
+	 * "asdfghjkl". Characters other than letters are ignored.
+	 *
+	 * @param letters String letters in the set
+	 * @return int mask of the letters
+	 */
+
+	public static int letters(String letters) {
+		return mask(letters) & ALL_LETTERS; // return mask without the OTHER bit
+	}
+
+	/**
+	 * Method that returns the indices of the words using only letters in the given
+	 * set, in ascending order.
+	 *
+	 * @param allowed int mask of the letters allowed
+	 * @return int array of word indices
+	 */
+
+	public int[] wordsUsingOnly(int allowed) {
+		allowed &= ALL_LETTERS;
+
+		int[] result = new int[countUsingOnly(allowed)];
+		int count = 0;
+
+		// copy out each matching group
+
+		if (useSubmasks(allowed)) {
+			for (int sub = allowed;; sub = (sub - 1) & allowed) {
+				int group = Arrays.binarySearch(masks, sub);
+				if (group >= 0) {
+					count = copyGroup(group, result, count);
+				}
+				if (sub == 0) {
+					break;
+				}
+			}
+		} else {
+			for (int group = 0; group < masks.length; group++) {
+				if ((masks[group] & ~allowed) == 0) {
+					count = copyGroup(group, result, count);
+				}
+			}
+		}
+
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Method that returns the indices of the words using none of the letters in
+	 * the given set, in ascending order.
+	 *
+	 * @param forbidden int mask of the letters not allowed
+	 * @return int array of word indices
+	 */
+
+	public int[] wordsAvoiding(int forbidden) {
+		return wordsUsingOnly(ALL_LETTERS & ~forbidden); // return words using only the other letters
+	}
+
+	/**
+	 * Method that returns the number of words using only letters in the given set.
+	 *
+	 * @param allowed int mask of the letters allowed
+	 * @return int number of words
+	 */
+
+	public int countUsingOnly(int allowed) {
+		allowed &= ALL_LETTERS;
+		int count = 0;
+
+		if (useSubmasks(allowed)) {
+			for (int sub = allowed;; sub = (sub - 1) & allowed) {
+				int group = Arrays.binarySearch(masks, sub);
+				if (group >= 0) {
+					count += starts[group + 1] - starts[group];
+				}
+				if (sub == 0) {
+					break;
+				}
+			}
+		} else {
+			for (int group = 0; group < masks.length; group++) {
+				if ((masks[group] & ~allowed) == 0) {
+					count += starts[group + 1] - starts[group];
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Method that returns the number of distinct letter sets used by the words.
+	 *
+	 * @return int number of distinct masks
+	 */
+
+	public int distinctMasks() {
+		return masks.length; // return number of groups
+	}
+
+	/**
+	 * Method that returns the number of words in the index.
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return words.length; // return number of words
+	}
+
+	/**
+	 * Helper method that decides whether to enumerate the submasks of a letter set
+	 * or check every distinct mask, by comparing the number of steps each takes.
+	 *
+	 * @param allowed int mask of the letters allowed
+	 * @return boolean true to enumerate submasks, else false
+	 */
+
+	private boolean useSubmasks(int allowed) {
+		int bits = Integer.bitCount(allowed);
+		int lookup = 32 - Integer.numberOfLeadingZeros(Math.max(masks.length, 1)); // steps per binary search
+
+		return bits < 30 && ((long) lookup << bits) < masks.length;
+	}
+
+	/**
+	 * Helper method that copies the word indices of a group into an array.
+	 *
+	 * @param group  int group to copy
+	 * @param result int array to copy into
+	 * @param count  int number of indices already in result
+	 * @return int number of indices in result afterwards
+	 */
+
+	private int copyGroup(int group, int[] result, int count) {
+		int length = starts[group + 1] - starts[group];
+		System.arraycopy(words, starts[group], result, count, length);
+		return count + length;
+	}
+}
@@ -0,0 +1,168 @@
+package com.resong.racer.dictionary;
+
+/**
+ * SpawnWordSampler class picks words for new obstacles. Words are drawn from a
+ * shuffle bag: each draw takes a random word from the part of the bag not used
+ * yet, so no word is repeated until every word has been drawn once, and then the
+ * bag starts over. A word is only returned if it can go into the trie of live
+ * obstacles without clashing with them: it must not be a live word, start with a
+ * live word, or be the start of a live word. The check walks only the word's own
+ * path in the trie, and with a small live set almost every draw passes, so a draw
+ * takes expected constant time.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Random;
+
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.TrieADT;
+
+public class SpawnWordSampler implements WordSampler {
+
+	//////////// Attributes /////////////
+
+	// Number of random draws to try before searching the bag in order
+	private static final int RANDOM_ATTEMPTS = 32;
+
+	private CompactWordList words; // list the words are drawn from
+
+	private Random random; // source of random numbers
+
+	private int[] bag; // indices of the words in the bag, drawn ones at the front
+
+	private int drawn; // number of words drawn from the bag so far
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a sampler over every word in the list
+	 *
+	 * @param words  CompactWordList list to draw words from
+	 * @param random Random source of random numbers
+	 */
+
+	public SpawnWordSampler(CompactWordList words, Random random) {
+		this.words = words;
+		this.random = random;
+		this.bag = new int[words.size()];
+		this.drawn = 0;
+
+		for (int i = 0; i < bag.length; i++) {
+			bag[i] = i;
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that limits the bag to the words with the given indices, such as the
+	 * words a LetterMaskIndex finds for a training mode, and starts a new bag. Takes
+	 * time proportional to the number of indices, not the size of the list.
+	 *
+	 * @param indices int array of indices of the words to draw from
+	 */
+
+	public void setPool(int[] indices) {
+		this.bag = indices.clone();
+		this.drawn = 0;
+	}
+
+	/**
+	 * Method that draws the next word that can be added to the live obstacles
+	 * without clashing with them. Returns null only if every word in the bag
+	 * clashes.
+	 *
+	 * @param live TrieADT<?> trie of the words of the live obstacles
+	 * @return String word that can be added, or null
+	 */
+
+	public String next(TrieADT<?> live) {
+		if (bag.length == 0) {
+			return null;
+		}
+
+		// if every word has been drawn, start a new bag
+
+		if (drawn == bag.length) {
+			drawn = 0;
+		}
+
+		// try a few random words from the rest of the bag, leaving
+		// any that clash in the bag for later
+
+		for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+			int slot = drawn + random.nextInt(bag.length - drawn);
+			String word = words.get(bag[slot]);
+			if (!clashes(word, live)) {
+				take(slot);
+				return word;
+			}
+		}
+
+		// else search the whole bag in order, starting with the words
+		// not drawn yet
+
+		for (int i = 0; i < bag.length; i++) {
+			int slot = (drawn + i) % bag.length;
+			String word = words.get(bag[slot]);
+			if (!clashes(word, live)) {
+				if (slot < drawn) {
+					drawn = 0; // the undrawn words all clash, so start a new bag
+				}
+				take(slot);
+				return word;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Method that returns the number of words in the bag
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return bag.length; // return length of the bag
+	}
+
+	/**
+	 * Method that returns the number of words left in the bag before it starts
+	 * over
+	 *
+	 * @return int number of words not drawn yet
+	 */
+
+	public int remaining() {
+		return bag.length - drawn; // return number of words not drawn
+	}
+
+	/**
+	 * Method that determines if a word would clash with the live obstacles: if it
+	 * is a live word, starts with one, or is the start of one.
+	 *
+	 * @param word String word to check
+	 * @param live TrieADT<?> trie of the words of the live obstacles
+	 * @return boolean true if the word clashes, else false
+	 */
+
+	public static boolean clashes(String word, TrieADT<?> live) {
+		return live.containsPrefix(word) || live.containsPrefixOf(word);
+	}
+
+	/**
+	 * Helper method that moves the word in the given slot to the end of the drawn
+	 * part of the bag.
+	 *
+	 * @param slot int slot of the word in the bag
+	 */
+
+	private void take(int slot) {
+		int index = bag[slot];
+		bag[slot] = bag[drawn];
+		bag[drawn++] = index;
+	}
+}
@@ -0,0 +1,404 @@
+package com.resong.racer.dictionary;
+
+/**
+ * TieredWordSampler class picks words for new obstacles with a difficulty that
+ * rises with the level. Every word gets a difficulty score from its length and
+ * the number of rare letters in it, and the dictionary is split by score into
+ * tiers of equal size, from easiest to hardest. Within a tier, words are drawn
+ * with an alias table, weighted by corpus frequency when frequencies are given
+ * and uniformly otherwise. A second, small alias table gives the chance of each
+ * tier at the current level, centred on easy tiers at level 1 and moving to hard
+ * ones as the level rises. Both draws take constant time. The words can be
+ * limited to a pool, such as the words of a training mode.
+ *
+ * The tables are built on a background thread, and swapped in when the game
+ * calls update(), so the same calls always draw the same words from the same
+ * seed. The game calls it once a frame event, long after a level's tables are
+ * ready, so in practice it never waits for them. Until the first tables are
+ * swapped in, and whenever a drawn word clashes with the live obstacles too many
+ * times in a row, words come from a shuffle bag sampler instead.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.resong.racer.structures.AliasTable;
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.TrieADT;
+
+public class TieredWordSampler implements WordSampler {
+
+	//////////// Attributes /////////////
+
+	// Number of difficulty tiers the dictionary is split into
+	public static final int TIERS = 5;
+
+	// Level at which the hardest tier becomes the most likely
+	public static final int HARDEST_LEVEL = 9;
+
+	// Spread of the tier mix around its centre, in tiers
+	private static final double SPREAD = 0.8;
+
+	// Number of weighted draws to try before using the shuffle bag
+	private static final int ATTEMPTS = 16;
+
+	// Letters used in less than about 1% of English text, which make a word harder
+	private static final String RARE_LETTERS = "jkqvxz";
+
+	private CompactWordList words; // list the words are drawn from
+
+	private double[] frequencies; // corpus frequency of each word, or null
+
+	private Random random; // source of random numbers
+
+	private WordSampler fallback; // sampler used when the tables can't give a word
+
+	private Tables tables; // tables in use, or null until swapped in
+
+	private Future<Tables> pending; // latest tables requested, or null
+
+	private Tables tiers; // tiers over the pool, built and read on the background thread
+
+	private int level; // level the latest tables were requested for
+
+	private ExecutorService builder; // background thread that builds the tables
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a sampler drawing uniformly within each tier,
+	 * and starts building the tables for level 1
+	 *
+	 * @param words    CompactWordList list to draw words from
+	 * @param random   Random source of random numbers
+	 * @param fallback WordSampler sampler to use when the tables can't give a word
+	 */
+
+	public TieredWordSampler(CompactWordList words, Random random, WordSampler fallback) {
+		this(words, null, random, fallback);
+	}
+
+	/**
+	 * Constructor that initializes a sampler weighting each word by its corpus
+	 * frequency within its tier, and starts building the tables for level 1. A
+	 * tier whose words all have frequency 0 weights them equally. Throws an
+	 * IllegalArgumentException if a frequency is negative, infinite or not a
+	 * number.
+	 *
+	 * @param words       CompactWordList list to draw words from
+	 * @param frequencies double array of the frequency of each word, or null to
+	 *                    weight words equally
+	 * @param random      Random source of random numbers
+	 * @param fallback    WordSampler sampler to use when the tables can't give a
+	 *                    word
+	 */
+
+	public TieredWordSampler(CompactWordList words, double[] frequencies, Random random, WordSampler fallback) {
+		if (frequencies != null && frequencies.length != words.size()) {
+			throw new IllegalArgumentException("Expected " + words.size() + " frequencies, got " + frequencies.length);
+		}
+
+		for (int i = 0; frequencies != null && i < frequencies.length; i++) {
+			if (!(frequencies[i] >= 0) || Double.isInfinite(frequencies[i])) {
+				throw new IllegalArgumentException("Invalid frequency of word " + i + ": " + frequencies[i]);
+			}
+		}
+
+		this.words = words;
+		this.frequencies = frequencies;
+		this.random = random;
+		this.fallback = fallback;
+		this.tables = null;
+		this.tiers = null;
+		this.level = 1;
+
+		// build on a daemon thread so it never keeps the game running
+
+		this.builder = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "word-tier-builder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.pending = this.builder.submit(() -> build(1, null, true));
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that asks for the tables of a new level to be built in the background.
+	 * Words keep coming from the current tables until the new ones are swapped in
+	 * by update().
+	 *
+	 * @param level int new level
+	 */
+
+	public void setLevel(int level) {
+		this.level = level;
+		this.pending = this.builder.submit(() -> build(level, null, false));
+	}
+
+	/**
+	 * Method that limits the words drawn to those with the given indices, such as
+	 * the words a LetterMaskIndex finds for a training mode, and asks for the tiers
+	 * to be rebuilt over them in the background. Words keep coming from the current
+	 * tables until the new ones are swapped in by update().
+	 *
+	 * @param indices int array of indices of the words to draw from, or null for
+	 *                every word
+	 */
+
+	public void setPool(int[] indices) {
+		int level = this.level;
+		int[] pool = (indices == null) ? null : indices.clone();
+
+		this.pending = this.builder.submit(() -> build(level, pool, true));
+	}
+
+	/**
+	 * Method that swaps in the latest tables asked for, waiting for them if they
+	 * aren't built yet. Words are only drawn from new tables once this is called,
+	 * so the words drawn don't depend on how fast the background thread is.
+	 */
+
+	public void update() {
+		if (this.pending == null) {
+			return;
+		}
+
+		try {
+			this.tables = this.pending.get();
+			this.pending = null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt(); // keep drawing from the current tables
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Word tables could not be built", e.getCause());
+		}
+	}
+
+	/**
+	 * Method that stops the background thread once the sampler is no longer
+	 * needed. Tables already built can still be drawn from.
+	 */
+
+	public void shutdown() {
+		this.builder.shutdownNow();
+	}
+
+	/**
+	 * Method that returns the level of the tables in use, or 0 if they haven't
+	 * been built yet
+	 *
+	 * @return int level of the tables in use
+	 */
+
+	public int getLevel() {
+		return (tables == null) ? 0 : tables.level;
+	}
+
+	/**
+	 * Method that draws a word for the current level that can be added to the live
+	 * obstacles without clashing with them. Returns null only if the fallback
+	 * sampler can't find one either.
+	 *
+	 * @param live TrieADT<?> trie of the words of the live obstacles
+	 * @return String word that can be added, or null
+	 */
+
+	public String next(TrieADT<?> live) {
+		Tables current = this.tables;
+
+		// draw a tier for the level, then a word from the tier
+
+		if (current != null) {
+			for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+				int tier = current.mix.sample(random);
+				String word = words.get(current.tierWords[tier][current.tierTables[tier].sample(random)]);
+				if (!SpawnWordSampler.clashes(word, live)) {
+					return word;
+				}
+			}
+		}
+
+		return fallback.next(live); // else use the fallback sampler
+	}
+
+	/**
+	 * Method that returns the number of words that can be drawn
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return words.size(); // return size of the word list
+	}
+
+	/**
+	 * Method that returns the difficulty score of a word: its length, plus two for
+	 * every rare letter in it.
+	 *
+	 * @param word CharSequence word to score
+	 * @return int difficulty score
+	 */
+
+	public static int difficulty(CharSequence word) {
+		int score = word.length();
+
+		for (int i = 0; i < word.length(); i++) {
+			if (RARE_LETTERS.indexOf(Character.toLowerCase(word.charAt(i))) >= 0) {
+				score += 2;
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Method that returns the chance of each tier at the given level. The chances
+	 * follow a bell curve whose centre moves from the easiest tier at level 1 to
+	 * the hardest at HARDEST_LEVEL.
+	 *
+	 * @param level int level
+	 * @return double array of the weight of each tier
+	 */
+
+	public static double[] tierWeights(int level) {
+		double progress = Math.min(1.0, Math.max(0, level - 1) / (double) (HARDEST_LEVEL - 1));
+		double centre = progress * (TIERS - 1);
+		double[] weights = new double[TIERS];
+
+		for (int tier = 0; tier < TIERS; tier++) {
+			double distance = (tier - centre) / SPREAD;
+			weights[tier] = Math.exp(-0.5 * distance * distance);
+		}
+		return weights;
+	}
+
+	/**
+	 * Helper method run on the background thread that builds the tables for a
+	 * level. The tier tables only depend on the words in the pool, so they are
+	 * built when the pool changes and shared by later levels. If the pool is empty
+	 * there are no tables, and words come from the fallback sampler.
+	 *
+	 * @param level   int level to build for
+	 * @param indices int array of indices of the words in the pool, or null for
+	 *                every word
+	 * @param retier  boolean true if the pool has changed
+	 * @return Tables tables for the level, or null if there are no words
+	 */
+
+	private Tables build(int level, int[] indices, boolean retier) {
+		if (retier) {
+			boolean empty = (indices == null) ? words.isEmpty() : indices.length == 0;
+			this.tiers = empty ? null : buildTiers(indices);
+		}
+
+		if (this.tiers == null) {
+			return null;
+		}
+
+		Tables next = new Tables(this.tiers);
+		next.level = level;
+		next.mix = new AliasTable(tierWeights(level));
+		return next;
+	}
+
+	/**
+	 * Helper method that splits the words into tiers by difficulty and builds the
+	 * alias table of each tier. A tier whose words all have frequency 0 weights
+	 * them equally.
+	 *
+	 * @param indices int array of indices of the words to split, or null for every
+	 *                word
+	 * @return Tables tables with the tiers filled in
+	 */
+
+	private Tables buildTiers(int[] indices) {
+		int size = (indices == null) ? words.size() : indices.length;
+		int[] scores = new int[size];
+		int maxScore = 0;
+
+		for (int i = 0; i < size; i++) {
+			scores[i] = difficulty(words.view((indices == null) ? i : indices[i]));
+			maxScore = Math.max(maxScore, scores[i]);
+		}
+
+		// counting sort the word indices by score, keeping dictionary
+		// order within a score
+
+		int[] starts = new int[maxScore + 2];
+		for (int i = 0; i < size; i++) {
+			starts[scores[i] + 1]++;
+		}
+		for (int s = 1; s < starts.length; s++) {
+			starts[s] += starts[s - 1];
+		}
+
+		int[] sorted = new int[size];
+		for (int i = 0; i < size; i++) {
+			sorted[starts[scores[i]]++] = (indices == null) ? i : indices[i];
+		}
+
+		// cut the sorted words into tiers of equal size
+
+		Tables result = new Tables();
+		int tiers = Math.min(TIERS, Math.max(size, 1));
+
+		for (int tier = 0; tier < TIERS; tier++) {
+			int from = (int) ((long) size * Math.min(tier, tiers - 1) / tiers);
+			int to = (int) ((long) size * (Math.min(tier, tiers - 1) + 1) / tiers);
+
+			int[] members = new int[to - from];
+			double[] weights = new double[to - from];
+			double sum = 0;
+
+			for (int i = from; i < to; i++) {
+				members[i - from] = sorted[i];
+				weights[i - from] = (frequencies == null) ? 1 : frequencies[sorted[i]];
+				sum += weights[i - from];
+			}
+
+			// no word in the tier was seen in the corpus, so none is more likely
+
+			if (sum == 0) {
+				Arrays.fill(weights, 1);
+			}
+
+			result.tierWords[tier] = members;
+			result.tierTables[tier] = new AliasTable(weights);
+		}
+
+		return result;
+	}
+
+	/**
+	 * The tables used for one level. A set is never changed once it has been
+	 * built.
+	 */
+
+	private static class Tables {
+
+		private int level; // level the mix is for
+
+		private AliasTable mix; // chance of each tier
+
+		private int[][] tierWords; // word indices in each tier
+
+		private AliasTable[] tierTables; // chance of each word within its tier
+
+		private Tables() {
+			this.tierWords = new int[TIERS][];
+			this.tierTables = new AliasTable[TIERS];
+		}
+
+		private Tables(Tables other) {
+			this.tierWords = other.tierWords;
+			this.tierTables = other.tierTables;
+		}
+	}
+}
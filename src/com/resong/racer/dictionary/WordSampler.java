@@ -0,0 +1,15 @@
+package com.resong.racer.dictionary;
+
+import com.resong.racer.structures.TrieADT;
+
+/**
+ * Public interface for a source of words for new obstacles.
+ * 
+ * @author Rebecca Song
+ */
+public interface WordSampler {
+
+	public String next(TrieADT<?> live);
+
+	public int size();
+}
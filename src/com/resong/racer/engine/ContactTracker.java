@@ -0,0 +1,132 @@
+package com.resong.racer.engine;
+
+/**
+ * ContactTracker class turns the player's car starting and stopping touching
+ * each object into contacts, so scraping along a building, or bumping into it
+ * again straight after leaving it, only counts once. Touching an object again
+ * within the cooldown after the last contact with it ended is merged into that
+ * contact instead of beginning a new one. Times are in simulation steps, so
+ * the same session always merges the same contacts.
+ *
+ * Once the tracker holds more than PRUNE_SIZE objects, those not touched for
+ * longer than the cooldown are forgotten, so it doesn't grow with every object
+ * ever touched.
+ *
+ * @author Rebecca Song
+ * @param <T> Type of object touched
+ *
+ */
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+public class ContactTracker<T> {
+
+	/////////////// Constants ///////////////
+
+	// Number of objects tracked above which finished contacts are forgotten
+	private final static int PRUNE_SIZE = 64;
+
+	//////////// Attributes /////////////
+
+	private long cooldown; // steps after a contact ends during which it can carry on
+
+	private HashMap<T, Contact> contacts; // contact with each object, by object
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a tracker with the given cooldown
+	 *
+	 * @param cooldown long steps after a contact ends during which touching the
+	 *                 same object again is merged into it, or 0 to never merge
+	 */
+
+	public ContactTracker(long cooldown) {
+		if (cooldown < 0) {
+			throw new IllegalArgumentException("Cooldown can't be negative: " + cooldown);
+		}
+
+		this.cooldown = cooldown;
+		this.contacts = new HashMap<T, Contact>();
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that records the car starting to touch the given object, and
+	 * returns whether that begins a new contact rather than carrying on the last
+	 * one
+	 *
+	 * @param other T object touched
+	 * @param step  long simulation step the object was first touched at
+	 * @return boolean true if a new contact begins, false if it was merged
+	 */
+
+	public boolean begin(T other, long step) {
+		Contact contact = this.contacts.get(other);
+
+		if (contact == null) {
+			if (this.contacts.size() >= PRUNE_SIZE) {
+				this.prune(step);
+			}
+			contact = new Contact();
+			this.contacts.put(other, contact);
+		}
+
+		// already touching, or only just stopped touching
+
+		boolean merged = contact.touching || (contact.ended && step - contact.lastEnd < this.cooldown);
+
+		contact.touching = true;
+		return !merged;
+	}
+
+	/**
+	 * Method that records the car no longer touching the given object
+	 *
+	 * @param other T object no longer touched
+	 * @param step  long simulation step it stopped being touched at
+	 */
+
+	public void end(T other, long step) {
+		Contact contact = this.contacts.get(other);
+
+		if (contact != null && contact.touching) {
+			contact.touching = false;
+			contact.ended = true;
+			contact.lastEnd = step;
+		}
+	}
+
+	/**
+	 * Helper method that forgets the objects not touched for longer than the
+	 * cooldown
+	 *
+	 * @param step long current simulation step
+	 */
+
+	private void prune(long step) {
+		Iterator<Contact> it = this.contacts.values().iterator();
+
+		while (it.hasNext()) {
+			Contact contact = it.next();
+			if (!contact.touching && (!contact.ended || step - contact.lastEnd >= this.cooldown)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Contact class holds the state of the contact with one object
+	 */
+
+	private static class Contact {
+
+		private boolean touching; // true while the object is touched
+
+		private boolean ended; // true once the object has stopped being touched
+
+		private long lastEnd; // step the object last stopped being touched at
+	}
+}
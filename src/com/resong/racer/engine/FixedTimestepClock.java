@@ -0,0 +1,121 @@
+package com.resong.racer.engine;
+
+/**
+ * FixedTimestepClock class turns the time between rendered frames into a whole
+ * number of simulation steps of a fixed length, so the game runs at the same
+ * pace whether it draws 30 frames a second or 240. Each call to advance() adds
+ * the time since the previous call to an accumulator and takes as many whole
+ * steps out of it as it holds; what is left over, as a fraction of a step, is
+ * how far the frame being drawn lies between the last step and the next, for
+ * drawing moving objects between their last two positions.
+ *
+ * After a long stall, such as the window being dragged, at most a quarter of a
+ * second of steps is caught up, and the rest of the backlog is dropped rather
+ * than run in one burst.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+public class FixedTimestepClock {
+
+	//////////// Attributes /////////////
+
+	private int rate; // steps per second
+
+	private long stepNanos; // length of a step, in nanoseconds
+
+	private int maxSteps; // most steps taken by one call to advance
+
+	private long accumulator; // time not yet turned into steps, in nanoseconds
+
+	private long lastTime; // time of the previous call to advance
+
+	private boolean started; // true once advance has been called
+
+	private long stepCount; // number of steps taken
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a clock taking the given number of steps each
+	 * second. Throws an IllegalArgumentException if the rate isn't positive.
+	 *
+	 * @param rate int steps per second
+	 */
+
+	public FixedTimestepClock(int rate) {
+		if (rate <= 0) {
+			throw new IllegalArgumentException("Step rate must be positive: " + rate);
+		}
+
+		this.rate = rate;
+		this.stepNanos = 1000000000L / rate;
+		this.maxSteps = Math.max(1, rate / 4);
+		this.accumulator = 0;
+		this.started = false;
+		this.stepCount = 0;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that moves the clock on to the given time and returns the number of
+	 * whole steps that have passed since the previous call. The first call only
+	 * starts the clock, and returns 0.
+	 *
+	 * @param now long current time from System.nanoTime()
+	 * @return int number of steps to run
+	 */
+
+	public int advance(long now) {
+		if (!started) {
+			this.started = true;
+			this.lastTime = now;
+			return 0;
+		}
+
+		accumulator += Math.max(0, now - lastTime);
+		lastTime = now;
+
+		// drop any backlog beyond the most steps caught up at once
+
+		accumulator = Math.min(accumulator, maxSteps * stepNanos + stepNanos - 1);
+
+		int steps = (int) (accumulator / stepNanos);
+		accumulator -= steps * stepNanos;
+		stepCount += steps;
+		return steps;
+	}
+
+	/**
+	 * Method that returns how far the current time lies between the last step and
+	 * the next, from 0 up to but not including 1
+	 *
+	 * @return double fraction of a step since the last step
+	 */
+
+	public double alpha() {
+		return (double) accumulator / stepNanos;
+	}
+
+	/**
+	 * Method that returns the number of steps each second
+	 *
+	 * @return int step rate
+	 */
+
+	public int getRate() {
+		return this.rate; // return rate
+	}
+
+	/**
+	 * Method that returns the number of steps taken since the clock started
+	 *
+	 * @return long number of steps
+	 */
+
+	public long getStepCount() {
+		return this.stepCount; // return stepCount
+	}
+}
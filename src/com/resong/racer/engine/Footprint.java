@@ -0,0 +1,95 @@
+package com.resong.racer.engine;
+
+/**
+ * Footprint class is the rectangle an object covers on the road, seen from
+ * above: its middle across and along the road, and half its width and length.
+ * The engine keeps the footprints of the obstacles and the scenery in a
+ * SpatialGrid to find what the player's car runs into, so collisions cost the
+ * same however detailed the shapes drawn for them are.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+public class Footprint {
+
+	//////////// Attributes /////////////
+
+	private float x; // middle of the footprint across the road
+
+	private float z; // middle of the footprint along the road, negative ahead of the start
+
+	private float halfWidth; // half the width across the road
+
+	private float halfLength; // half the length along the road
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a footprint with the given middle and size
+	 *
+	 * @param x          float middle across the road
+	 * @param z          float middle along the road
+	 * @param halfWidth  float half the width across the road
+	 * @param halfLength float half the length along the road
+	 */
+
+	public Footprint(float x, float z, float halfWidth, float halfLength) {
+		this.x = x;
+		this.z = z;
+		this.halfWidth = halfWidth;
+		this.halfLength = halfLength;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that returns the middle of the footprint across the road
+	 *
+	 * @return float x-coordinate of the middle
+	 */
+
+	public float getX() {
+		return this.x; // return x
+	}
+
+	/**
+	 * Method that returns the middle of the footprint along the road
+	 *
+	 * @return float z-coordinate of the middle
+	 */
+
+	public float getZ() {
+		return this.z; // return z
+	}
+
+	/**
+	 * Method that returns half the width of the footprint across the road
+	 *
+	 * @return float half width
+	 */
+
+	public float getHalfWidth() {
+		return this.halfWidth; // return halfWidth
+	}
+
+	/**
+	 * Method that returns half the length of the footprint along the road
+	 *
+	 * @return float half length
+	 */
+
+	public float getHalfLength() {
+		return this.halfLength; // return halfLength
+	}
+
+	/**
+	 * Method that returns a description of the footprint
+	 *
+	 * @return String middle and size of the footprint
+	 */
+
+	public String toString() {
+		return String.format("(%.2f, %.2f) %.2f x %.2f", x, z, 2 * halfWidth, 2 * halfLength);
+	}
+}
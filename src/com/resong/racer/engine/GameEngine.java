@@ -0,0 +1,1032 @@
+package com.resong.racer.engine;
+
+/**
+ * GameEngine class holds the rules of TyperRacer: spawning obstacles with words,
+ * matching the keys the player types against them, taking health on collisions
+ * and moving up a level at the end of each lap. It finds collisions itself, by
+ * keeping the footprints of the obstacles and the scenery in SpatialGrids and
+ * checking the player's car against them each tick. It only talks to the display
+ * through a GameScene, so the same rules run in the Java3D game window and in a
+ * headless scene for load tests, bots and benchmarks.
+ *
+ * Given the same words, the same seed and the same calls, the engine always
+ * does the same thing, so a session recorded with a SessionRecorder can be
+ * played back exactly. The random numbers of the rules and of the scene come
+ * from separate streams of the session seed, so a scene that places obstacles
+ * differently doesn't change the words spawned. Collisions depend on where the
+ * scene placed things, so they are passed to a CollisionHandler to be recorded,
+ * and a replay turns collision detection off and plays the recorded ones back.
+ *
+ * Obstacles the player drives past are taken out of play once they are behind
+ * the camera, so the obstacles in play don't build up over a long session. The
+ * engine keeps them in an IndexedMinHeap by the distance the player will have
+ * driven when each one is passed, so each tick only looks at the ones due.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.resong.racer.dictionary.LetterMaskIndex;
+import com.resong.racer.dictionary.SpawnWordSampler;
+import com.resong.racer.dictionary.TieredWordSampler;
+import com.resong.racer.objects.HUD;
+import com.resong.racer.structures.AhoCorasickMatcher;
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.IndexedMinHeap;
+import com.resong.racer.structures.Trie;
+
+public class GameEngine<O> {
+
+	/////////////// Constants ///////////////
+
+	// Whether typed characters are matched as one continuous stream, recognizing
+	// an obstacle word wherever it ends (true), or the current word is erased
+	// whenever it stops being the start of an obstacle word (false)
+	private final static boolean CONTINUOUS_MATCHING = false;
+
+	// Whether to lock on to an obstacle once the typed characters are the start
+	// of only its word, checking each further character against that word alone
+	private final static boolean AUTO_LOCK = true;
+
+	// How a typed word that is also the start of a longer obstacle word is
+	// resolved: SHORTEST removes its obstacle at once, while LONGEST waits to
+	// see if the player carries on typing the longer word
+	private final static MatchMode MATCH_MODE = MatchMode.SHORTEST;
+
+	// Letters obstacle words are limited to for a training mode, such as
+	// "asdfghjkl" for the home row, or null to use every word
+	private final static String TRAINING_LETTERS = null;
+
+	// Simulation steps each second; spawn timing is counted in steps, so it is
+	// the same however fast frames are drawn
+	public final static int STEP_RATE = 60;
+
+	// Player position along the road past which the lap is over
+	public final static int LEVEL_END = 184;
+
+	// Furthest the player can move from the middle of the road
+	public final static float ROAD_EDGE = 2.65f;
+
+	// Length of the road, and of the stretch of road in each cell of the
+	// collision grids
+	public final static float ROAD_LENGTH = 200f;
+	private final static float GRID_CELL = 2f;
+
+	// Distance behind the camera an obstacle must be before it is taken out of
+	// play
+	private final static float DESPAWN_MARGIN = 1f;
+
+	// Distance ahead of the car the HUD shows the word of the obstacle in the way
+	private final static float HINT_RANGE = 30f;
+
+	// Steps after the car stops touching a piece of scenery during which
+	// touching it again carries on the same scrape
+	private final static long SCENERY_COOLDOWN = STEP_RATE / 4;
+
+	// Mixed into the session seed to give the scene its own stream
+	private final static long SCENERY_SALT = 0x9e3779b97f4a7c15L;
+
+	// Number of obstacles at the start of the game
+	private final static int INITIAL_OBSTACLES = 10;
+
+	// Health taken by running into an obstacle, by scraping the scenery, and by
+	// hitting anything else
+	public final static int OBSTACLE_DAMAGE = 5;
+	public final static int SCENERY_DAMAGE = 5;
+	public final static int COLLISION_DAMAGE = 5;
+
+	/////////////// Enumerations ///////////////
+
+	/**
+	 * Ways of resolving a typed word that is also a prefix of another word
+	 */
+	public enum MatchMode {
+		SHORTEST, LONGEST
+	}
+
+	/////////////// Attributes ///////////////
+
+	private GameScene<O> scene; // scene showing the game
+
+	private HUD display; // HUD of the scene
+
+	private Trie<O> obstacles; // trie storing current obstacles in level and their words
+
+	private AhoCorasickMatcher<O> matcher; // matcher over obstacle words, if matching continuously
+
+	private String lockedWord; // word of the obstacle locked on to, or null
+
+	private String pendingWord; // complete word passed while matching the longest word, or null
+
+	private TieredWordSampler sampler; // picks words for new obstacles to suit the level
+
+	private int fElapsed; // number of simulation steps since the last obstacle was added
+
+	private int fThreshold; // threshold number of steps
+
+	private boolean lapEnded; // true once the level has gone up for the current lap
+
+	private long spawnHash; // hash of every word spawned so far, in order
+
+	private SpatialGrid<String> obstacleGrid; // footprints of the obstacles, by word
+
+	private SpatialGrid<Footprint> sceneryGrid; // footprints of the scenery
+
+	private Footprint car; // footprint of the player's car, relative to the player
+
+	private ContactTracker<Footprint> sceneryContacts; // merges scraping along the scenery into one contact
+
+	private ArrayList<String> hits; // obstacles hit this tick
+
+	private ArrayList<Footprint> touching; // scenery touched at the last tick
+
+	private ArrayList<Footprint> touched; // scenery touched this tick
+
+	private float position; // player's position along the road at the last tick, or NaN
+
+	private int laps; // number of times the player has gone back to the start of the road
+
+	private IndexedMinHeap<String> passing; // obstacle words, by the distance at which they are passed
+
+	private ArrayList<O> passed; // obstacles passed this tick
+
+	private boolean despawning; // true if passed obstacles are taken out of play
+
+	private int despawned; // number of obstacles taken out of play once passed
+
+	private long stepCount; // number of simulation steps so far
+
+	private boolean detecting; // true if the engine finds collisions itself
+
+	private int collisions; // number of collisions so far
+
+	private CollisionHandler collisionHandler; // told of every collision, or null
+
+	/////////////// Constructors ///////////////
+
+	/**
+	 * Constructor that initializes an engine playing out in the given scene, with
+	 * obstacle words drawn from the given list
+	 *
+	 * @param scene  GameScene<O> scene showing the game
+	 * @param words  CompactWordList list of words for obstacles
+	 * @param random Random source of random numbers
+	 */
+
+	public GameEngine(GameScene<O> scene, CompactWordList words, Random random) {
+		this.scene = scene;
+		this.display = scene.getHUD();
+		this.obstacles = new Trie<O>();
+		this.matcher = new AhoCorasickMatcher<O>();
+		this.fElapsed = 0;
+		this.fThreshold = 200;
+		this.lapEnded = false;
+		this.spawnHash = 0;
+		this.obstacleGrid = new SpatialGrid<String>(-ROAD_LENGTH - GRID_CELL, GRID_CELL, GRID_CELL);
+		this.sceneryGrid = new SpatialGrid<Footprint>(-ROAD_LENGTH - GRID_CELL, GRID_CELL, GRID_CELL);
+		this.sceneryContacts = new ContactTracker<Footprint>(SCENERY_COOLDOWN);
+		this.hits = new ArrayList<String>();
+		this.touching = new ArrayList<Footprint>();
+		this.touched = new ArrayList<Footprint>();
+		this.position = Float.NaN;
+		this.laps = 0;
+		this.passing = new IndexedMinHeap<String>();
+		this.passed = new ArrayList<O>();
+		this.despawning = true;
+		this.despawned = 0;
+		this.stepCount = 0;
+		this.detecting = true;
+		this.collisions = 0;
+
+		SpawnWordSampler bag = new SpawnWordSampler(words, random);
+		this.sampler = new TieredWordSampler(words, random, bag);
+
+		// if training, limit both samplers to the words using only the
+		// training letters
+
+		if (TRAINING_LETTERS != null) {
+			LetterMaskIndex index = new LetterMaskIndex(words);
+			int[] pool = index.wordsUsingOnly(LetterMaskIndex.letters(TRAINING_LETTERS));
+			bag.setPool(pool);
+			this.sampler.setPool(pool);
+		}
+	}
+
+	////////////// Methods ///////////////
+
+	/**
+	 * Method that returns the source of random numbers for the rules of a session,
+	 * to be passed to the constructor
+	 *
+	 * @param seed long seed of the session
+	 * @return Random random numbers for the rules
+	 */
+
+	public static Random rulesRandom(long seed) {
+		return new Random(seed);
+	}
+
+	/**
+	 * Method that returns the source of random numbers for the scene of a session,
+	 * such as where obstacles are placed
+	 *
+	 * @param seed long seed of the session
+	 * @return Random random numbers for the scene
+	 */
+
+	public static Random sceneryRandom(long seed) {
+		return new Random(seed ^ SCENERY_SALT);
+	}
+
+	/**
+	 * Method that starts the game: sets the player's health to the maximum, adds
+	 * the first obstacles and starts the scene.
+	 */
+
+	public void start() {
+
+		try {
+
+			// set the player's health to max health (100)
+
+			display.setHealth(100);
+			this.sampler.update(); // wait for the first word tables
+
+			// put the car and the scenery in place for finding collisions
+
+			this.car = scene.getCarFootprint();
+			for (Footprint f : scene.getScenery()) {
+				this.sceneryGrid.add(f, f);
+			}
+
+			// loop through and add 10 random obstacles to the game
+
+			for (int i = 0; i < INITIAL_OBSTACLES; i++) {
+				this.spawnObstacle();
+			}
+
+			scene.startGame(); // displays the game and starts moving the player
+		}
+
+		catch (Exception e) {
+			System.out.println("Not Ready"); // print message saying game is not ready
+		}
+	}
+
+	/**
+	 * Method that stops the background work of the engine once its game is over
+	 * and it is no longer needed.
+	 */
+
+	public void shutdown() {
+		this.sampler.shutdown();
+	}
+
+	/**
+	 * Accessor method that returns the scene the engine plays out in
+	 *
+	 * @return GameScene<O> scene showing the game
+	 */
+
+	public GameScene<O> getScene() {
+		return this.scene; // return scene
+	}
+
+	/**
+	 * Accessor method that returns the trie of the words of the obstacles in play
+	 *
+	 * @return Trie<O> trie of obstacle words
+	 */
+
+	public Trie<O> getObstacles() {
+		return this.obstacles; // return obstacles
+	}
+
+	/**
+	 * Method that sets whether the engine finds collisions itself each tick. A
+	 * replay turns it off and passes the recorded collisions to
+	 * collisionOccurred instead.
+	 *
+	 * @param detecting boolean true to find collisions, false to only take them
+	 *                  from collisionOccurred
+	 */
+
+	public void setCollisionDetection(boolean detecting) {
+		this.detecting = detecting;
+	}
+
+	/**
+	 * Method that sets whether obstacles are taken out of play once the player
+	 * has driven past them. Only turned off to replay sessions recorded before
+	 * they were.
+	 *
+	 * @param despawning boolean true to take passed obstacles out of play
+	 */
+
+	public void setDespawning(boolean despawning) {
+		this.despawning = despawning;
+	}
+
+	/**
+	 * Method that returns the number of obstacles taken out of play once passed
+	 *
+	 * @return int number of obstacles passed
+	 */
+
+	public int getDespawnedCount() {
+		return this.despawned; // return despawned
+	}
+
+	/**
+	 * Method that sets the handler told of every collision, such as a recorder
+	 *
+	 * @param handler CollisionHandler to tell, or null for none
+	 */
+
+	public void setCollisionHandler(CollisionHandler handler) {
+		this.collisionHandler = handler;
+	}
+
+	/**
+	 * Method that returns the number of collisions so far
+	 *
+	 * @return int number of collisions
+	 */
+
+	public int getCollisionCount() {
+		return this.collisions; // return collisions
+	}
+
+	/**
+	 * Method that returns the obstacle nearest ahead of the player's car, in its
+	 * lane, within the given distance
+	 *
+	 * @param range float furthest distance ahead of the car to look
+	 * @return O nearest obstacle ahead, or null if there is none in range
+	 */
+
+	public O getNearestObstacleAhead(float range) {
+		if (this.car == null) {
+			return null;
+		}
+
+		String word = this.nearestWordAhead(range, Float.isNaN(this.position) ? 0 : this.position);
+
+		try {
+			return (word == null) ? null : this.obstacles.find(word);
+		} catch (Exception e) {
+			return null; // return null if the word has gone
+		}
+	}
+
+	/**
+	 * Method that returns a hash of the state of the game: the HUD, the frame
+	 * counters, and every word spawned so far. Two runs of the engine that did the
+	 * same thing have the same checksum.
+	 *
+	 * @return long checksum of the state of the game
+	 */
+
+	public long checksum() {
+		long hash = this.spawnHash;
+
+		hash = mix(hash, display.getHealth());
+		hash = mix(hash, display.getLevel());
+		hash = mix(hash, display.getWordCount());
+		hash = mix(hash, display.getCurrentWord().hashCode());
+		hash = mix(hash, (display.getTarget() == null) ? 0 : display.getTarget().hashCode());
+		hash = mix(hash, this.obstacles.size());
+		hash = mix(hash, this.fElapsed);
+		hash = mix(hash, this.fThreshold);
+		hash = mix(hash, this.collisions);
+		return hash;
+	}
+
+	/**
+	 * Method that determines what actions to take when the user presses a key.
+	 *
+	 * @param keyCode int virtual key code of the key, as in KeyEvent
+	 * @param keyChar char character of the key
+	 */
+
+	public void keyPressed(int keyCode, char keyChar) {
+
+		// switch between the following actions based on the key code
+
+		switch (keyCode) {
+
+		// if space bar is pressed, pause the game
+		// if it is not paused already, else resume the game
+
+		case KeyEvent.VK_SPACE:
+			display.setPaused(!display.isPaused());
+			scene.pauseResume();
+			break;
+
+		// if the left arrow key is pressed and the game is
+		// not paused, and the player is still on the road,
+		// move the player left by 0.1 units
+
+		case KeyEvent.VK_LEFT:
+			if ((!display.isPaused()) && scene.getPlayerX() >= -ROAD_EDGE) {
+				scene.movePlayerX(-0.1f);
+			}
+			break;
+
+		// if the right arrow key is pressed and the game is
+		// not paused, and the player is still on the road,
+		// move the player right by 0.1 units
+
+		case KeyEvent.VK_RIGHT:
+			if ((!display.isPaused()) && scene.getPlayerX() <= ROAD_EDGE) {
+				scene.movePlayerX(+0.1f);
+			}
+			break;
+
+		// if any other key is pressed
+
+		default:
+
+			// if matching continuously, let the matcher handle the character
+
+			if (CONTINUOUS_MATCHING) {
+				try {
+					this.matchContinuously(keyChar);
+				} catch (Exception ex) {
+					return; // return
+				}
+				break;
+			}
+
+			display.appendCharacter(keyChar); // append the character pressed by the user to the word in the HUD
+
+			try {
+
+				// if locked on to an obstacle, only check the character
+				// against the locked word, unless the lock was dropped and
+				// the character starts a new word
+
+				if (this.lockedWord != null && this.matchLocked(keyChar)) {
+					return;
+				}
+
+				// if the trie doesn't contain the word in the
+				// HUD as a prefix, erase the word from the HUD
+
+				if (!obstacles.containsPrefix(display.getCurrentWord())) {
+					display.setCurrentWord("");
+
+					// if a complete word was passed on the way to a longer
+					// one, remove its obstacle and start again from the
+					// character just typed
+
+					if (this.pendingWord != null) {
+						this.destroyObstacle(this.pendingWord);
+						this.pendingWord = null;
+						if (obstacles.containsPrefix(Character.toString(keyChar))) {
+							display.appendCharacter(keyChar);
+						}
+					}
+				}
+
+				// if the trie contains the current word in the HUD, and
+				// either the shortest match is wanted or no longer word
+				// starts with it, remove the word from the trie, erase it
+				// from the HUD and increment the word count
+
+				String current = display.getCurrentWord();
+
+				if (obstacles.contains(current)) {
+					if (MATCH_MODE == MatchMode.SHORTEST || current.equals(obstacles.uniqueCompletion(current))) {
+						this.destroyObstacle(current);
+						this.pendingWord = null;
+						display.setCurrentWord("");
+					}
+
+					// else remember the word in case the longer one
+					// isn't finished
+
+					else {
+						this.pendingWord = current;
+					}
+				}
+
+				// else if locking is on and only one obstacle word starts
+				// with the current word, lock on to it
+
+				else if (AUTO_LOCK && !display.getCurrentWord().equals("")) {
+					this.lockedWord = obstacles.uniqueCompletion(display.getCurrentWord());
+					display.setTarget(this.lockedWord);
+				}
+			}
+
+			catch (Exception ex) {
+				return; // return
+			}
+		}
+	}
+
+	/**
+	 * Method called when player collides with an obstacle. It takes the default
+	 * damage from the player's health.
+	 */
+
+	public void collisionOccurred() {
+		collisionOccurred(COLLISION_DAMAGE, null);
+	}
+
+	/**
+	 * Method called when player collides with something. If it is an obstacle,
+	 * the obstacle is wrecked: its word is taken out of play, without counting as
+	 * typed. It decrements the player's health by the damage done, and ends the
+	 * game if the player's health reaches 0.
+	 *
+	 * @param damage int health taken by the collision
+	 * @param word   String word of the obstacle hit, or null if it wasn't one
+	 */
+
+	public void collisionOccurred(int damage, String word) {
+		this.collisions++;
+
+		if (this.collisionHandler != null) {
+			this.collisionHandler.collisionOccurred(damage, word);
+		}
+
+		// if an obstacle was hit, take it out of play, dropping the
+		// lock or the current word if they were on it
+
+		if (word != null && this.obstacles.contains(word)) {
+			try {
+				scene.removeObstacle(this.forgetObstacle(word));
+			} catch (Exception e) {
+				System.out.println("Obstacle not removed: " + word); // error message indicating obstacle is still there
+			}
+		}
+
+		// decrement health by the damage done
+
+		display.decrementHealth(damage);
+
+		// if player health is 0, end the game
+
+		if (display.getHealth() <= 0) {
+			scene.gameOver();
+		}
+	}
+
+	/**
+	 * Method that increments the steps elapsed, and adds an obstacle and resets
+	 * the steps elapsed to 0 if it surpasses the steps threshold. When the
+	 * player's position passes the end of the lap, increment the current level
+	 * once, add a number of obstacles to the game equivalent to the current level,
+	 * decrement the steps threshold and repaint the game objects.
+	 *
+	 * @param steps    int number of simulation steps, at STEP_RATE a second, since
+	 *                 the last tick
+	 * @param position float player's position along the road
+	 * @throws IllegalStateException throws exception if the word tables couldn't
+	 *                               be built
+	 */
+
+	public void tick(int steps, float position) {
+
+		try {
+
+			// swap in the word tables asked for since the last tick
+
+			this.sampler.update();
+			this.stepCount += steps;
+
+			// if the player is back at the start of the road, count the lap
+
+			if (position < this.position) {
+				this.laps++;
+			}
+
+			// increment number of steps elapsed
+
+			this.fElapsed += steps;
+
+			// if number of steps elapsed is equal or greater than the threshold
+
+			if (this.fElapsed >= this.fThreshold) {
+
+				// add an obstacle with a random word from the words list
+
+				this.spawnObstacles(1);
+				this.fElapsed = 0; // reset steps elapsed to 0
+			}
+
+			// if the player is back at the start of the road, the next
+			// lap's end can raise the level again
+
+			if ((int) position <= LEVEL_END) {
+				this.lapEnded = false;
+			}
+
+			// else if the lap has just ended
+
+			else if (!this.lapEnded) {
+				this.lapEnded = true;
+
+				// increment the level
+
+				display.incrementLevel();
+				this.sampler.setLevel(display.getLevel()); // start building the word tables for the new level
+
+				// add the number of obstacles with random words
+				// corresponding to the number of the current level
+
+				this.spawnObstacles(display.getLevel());
+
+				// decrement the steps threshold so long
+				// as it is not lower than 50
+
+				if (this.fThreshold >= 60) {
+					this.fThreshold -= 10;
+				}
+
+				scene.repaintObjects(); // repaint objects
+			}
+
+			// take the obstacles the player has driven past out of play
+
+			if (this.despawning) {
+				this.despawnPassed(this.laps * ROAD_LENGTH + position);
+			}
+
+			// check the player's car against the obstacles and scenery
+
+			if (this.detecting) {
+				this.detectCollisions(position);
+			}
+
+			// show how much of the word in the way to type to lock on to it
+
+			this.updateHint(position);
+		}
+
+		// keep the position even if the tick failed, so laps and the swept
+		// collision window stay right
+
+		finally {
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Helper method that takes every obstacle the player has driven past out of
+	 * play, and removes them from the scene together.
+	 *
+	 * @param distance double distance the player has driven, over every lap
+	 */
+
+	private void despawnPassed(double distance) {
+		this.passed.clear();
+
+		while (!this.passing.isEmpty() && this.passing.findMinKey() <= distance) {
+			String word = this.passing.findMin();
+
+			try {
+				this.passed.add(this.forgetObstacle(word));
+			} catch (Exception e) {
+				System.out.println("Obstacle not removed: " + word); // error message indicating obstacle is still there
+			}
+		}
+
+		if (!this.passed.isEmpty()) {
+			this.despawned += this.passed.size();
+			scene.removeObstacles(this.passed);
+		}
+	}
+
+	/**
+	 * Helper method that finds what the player's car runs into as it moves to the
+	 * given position. An obstacle is hit if the car passed over it since the last
+	 * tick, so a long tick can't skip over one. Scenery is hit when the car starts
+	 * touching it; scraping along it, or touching it again straight after, is
+	 * merged into one contact by a ContactTracker.
+	 *
+	 * @param position float player's position along the road
+	 */
+
+	private void detectCollisions(float position) {
+		if (this.car == null || display.isGameOver()) {
+			return;
+		}
+
+		float x = scene.getPlayerX() + car.getX();
+		float minX = x - car.getHalfWidth();
+		float maxX = x + car.getHalfWidth();
+		float front = car.getZ() - position - car.getHalfLength();
+		float back = car.getZ() - position + car.getHalfLength();
+
+		// sweep the car back to where it was at the last tick, unless it
+		// has gone back to the start of the road since
+
+		float swept = (position >= this.position) ? car.getZ() - this.position + car.getHalfLength() : back;
+
+		this.hits.clear();
+		this.obstacleGrid.findOverlapping(minX, maxX, front, swept, this.hits);
+
+		for (int i = 0; i < this.hits.size() && !display.isGameOver(); i++) {
+			this.collisionOccurred(OBSTACLE_DAMAGE, this.hits.get(i));
+		}
+
+		// end the contacts with the scenery no longer touched, then begin
+		// the new ones
+
+		this.touched.clear();
+		this.sceneryGrid.findOverlapping(minX, maxX, front, back, this.touched);
+
+		for (Footprint f : this.touching) {
+			if (!this.touched.contains(f)) {
+				this.sceneryContacts.end(f, this.stepCount);
+			}
+		}
+
+		for (Footprint f : this.touched) {
+			if (!this.touching.contains(f) && this.sceneryContacts.begin(f, this.stepCount) && !display.isGameOver()) {
+				this.collisionOccurred(SCENERY_DAMAGE, null);
+			}
+		}
+
+		ArrayList<Footprint> last = this.touching;
+		this.touching = this.touched;
+		this.touched = last;
+	}
+
+	/**
+	 * Helper method to add a number of obstacles with random words, reporting
+	 * any that couldn't be added
+	 *
+	 * @param count int number of obstacles to add
+	 */
+
+	private void spawnObstacles(int count) {
+		try {
+			for (int i = 0; i < count; i++) {
+				this.spawnObstacle();
+			}
+		}
+
+		catch (Exception e) {
+			System.out.println("Invalid object added."); // error message indicating object wasn't added
+		}
+	}
+
+	/**
+	 * Helper method to add an obstacle with a random word from the words list,
+	 * harder the higher the level. The sampler only returns words that don't clash
+	 * with the words of the obstacles already in the game, so adding one never
+	 * fails.
+	 *
+	 * @throws Exception throws exception passed from the add methods
+	 */
+
+	private void spawnObstacle() throws Exception {
+		String word = this.sampler.next(this.obstacles); // draw a word that doesn't clash
+
+		// if a word was found, add an obstacle with it
+
+		if (word != null) {
+			this.addWord(word);
+		}
+	}
+
+	/**
+	 * Helper method to add an obstacle to the game with the word passed to this
+	 * method associated with it
+	 *
+	 * @param word String to be associated with the new object
+	 * @throws Exception throws exception passed from the add methods
+	 */
+
+	private void addWord(String word) throws Exception {
+		O ob = scene.addObstacle(word); // scene adds an obstacle
+		Footprint f = scene.getFootprint(ob);
+		this.obstacles.add(word, ob); // add the word and obstacle to the trie
+		this.obstacleGrid.add(word, f); // and its footprint to the grid
+
+		// the obstacle is passed once its far end is behind the camera; if it
+		// already is, that is on the next lap
+
+		float current = Float.isNaN(this.position) ? 0 : this.position;
+		float passAt = DESPAWN_MARGIN - (f.getZ() - f.getHalfLength());
+
+		this.passing.add(word, this.laps * ROAD_LENGTH + passAt + ((passAt <= current) ? ROAD_LENGTH : 0));
+		this.spawnHash = mix(this.spawnHash, word.hashCode());
+
+		// if matching continuously, add the word and obstacle to the matcher
+
+		if (CONTINUOUS_MATCHING) {
+			this.matcher.add(word, ob);
+		}
+	}
+
+	/**
+	 * Helper method that feeds a typed character to the continuous matcher. If an
+	 * obstacle word ends at this character, the obstacle is removed and the word
+	 * count incremented; otherwise the HUD shows the part of the stream that is
+	 * still the start of an obstacle word.
+	 *
+	 * @param c character typed by the user
+	 * @throws Exception throws exception passed from the remove methods
+	 */
+
+	private void matchContinuously(char c) throws Exception {
+
+		// if a word ends at this character, remove it from the matcher
+		// and the trie, remove its obstacle and start a fresh stream
+
+		if (this.matcher.step(c) != null) {
+			String word = this.matcher.getMatchedWord();
+			this.destroyObstacle(word);
+			this.matcher.reset();
+			display.setCurrentWord("");
+		}
+
+		// else show the live part of the stream in the HUD
+
+		else {
+			display.setCurrentWord(this.matcher.getCurrentPrefix());
+		}
+	}
+
+	/**
+	 * Helper method that returns the word of the obstacle nearest ahead of the
+	 * player's car, in its lane, within the given distance
+	 *
+	 * @param range    float furthest distance ahead of the car to look
+	 * @param position float player's position along the road
+	 * @return String word of the nearest obstacle ahead, or null if there is none
+	 *         in range
+	 */
+
+	private String nearestWordAhead(float range, float position) {
+		float x = scene.getPlayerX() + car.getX();
+		float front = car.getZ() - position - car.getHalfLength();
+
+		return this.obstacleGrid.findNearestAhead(x - car.getHalfWidth(), x + car.getHalfWidth(), front, range);
+	}
+
+	/**
+	 * Helper method that shows the word of the obstacle in the player's way in the
+	 * HUD, with the length of its shortest unique prefix: the characters to type
+	 * before auto lock picks it out from the other obstacles.
+	 *
+	 * @param position float player's position along the road
+	 */
+
+	private void updateHint(float position) {
+		String word = (this.car == null) ? null : this.nearestWordAhead(HINT_RANGE, position);
+
+		try {
+			display.setHint(word, (word == null) ? 0 : obstacles.shortestUniquePrefix(word).length());
+		} catch (Exception e) {
+			display.setHint(null, 0); // clear the hint if the word has gone
+		}
+	}
+
+	/**
+	 * Helper method that checks a typed character against the locked word. If the
+	 * character is the next one in the word, and completes it, the obstacle is
+	 * removed and the word count incremented. If it isn't, the lock is released and
+	 * the current word is erased. If a complete word was passed on the way to the
+	 * locked one, its obstacle is removed and the word starts again from the
+	 * character, as when not locked.
+	 *
+	 * @param c character typed by the user
+	 * @return boolean true if the character was handled, false if it starts a new
+	 *         word still to be matched
+	 * @throws Exception throws exception passed from the remove methods
+	 */
+
+	private boolean matchLocked(char c) throws Exception {
+		int typed = display.getCurrentWord().length();
+
+		// if the character isn't the next one in the locked word,
+		// release the lock and erase the word from the HUD
+
+		if (typed > this.lockedWord.length() || this.lockedWord.charAt(typed - 1) != c) {
+
+			// if a complete word was passed on the way to the locked
+			// one, remove its obstacle instead, and start again from the
+			// character just typed
+
+			String pending = this.pendingWord;
+
+			this.releaseLock();
+			display.setCurrentWord("");
+
+			if (pending != null) {
+				this.destroyObstacle(pending);
+				if (obstacles.containsPrefix(Character.toString(c))) {
+					display.appendCharacter(c);
+				}
+				return false;
+			}
+		}
+
+		// else if the word is complete, remove it from the trie,
+		// remove its obstacle, and increment the word count
+
+		else if (typed == this.lockedWord.length()) {
+			this.destroyObstacle(this.lockedWord);
+			this.releaseLock();
+			display.setCurrentWord("");
+		}
+		return true;
+	}
+
+	/**
+	 * Helper method that removes a word from the trie, removes its obstacle from
+	 * the game and increments the word count.
+	 *
+	 * @param word String of the obstacle typed by the user
+	 * @throws Exception throws exception passed from the remove method
+	 */
+
+	private void destroyObstacle(String word) throws Exception {
+		scene.removeObstacle(this.removeWord(word));
+		display.incrementWordCount();
+	}
+
+	/**
+	 * Helper method that takes an obstacle the player didn't type out of play,
+	 * dropping the lock or the current word if they were on it, and returns the
+	 * obstacle for the scene to remove.
+	 *
+	 * @param word String of the obstacle
+	 * @return O obstacle taken out of play
+	 * @throws Exception throws exception passed from the remove method
+	 */
+
+	private O forgetObstacle(String word) throws Exception {
+		O ob = this.removeWord(word);
+
+		if (word.equals(this.pendingWord)) {
+			this.pendingWord = null;
+		}
+		if (word.equals(this.lockedWord) || !obstacles.containsPrefix(display.getCurrentWord())) {
+			this.releaseLock();
+			display.setCurrentWord("");
+		}
+		return ob;
+	}
+
+	/**
+	 * Helper method that removes an obstacle's word from the trie, the matcher,
+	 * the grid and the heap of obstacles to pass, and returns the obstacle.
+	 *
+	 * @param word String of the obstacle
+	 * @return O obstacle of the word
+	 * @throws Exception throws exception passed from the remove method
+	 */
+
+	private O removeWord(String word) throws Exception {
+		this.obstacleGrid.remove(word);
+		this.passing.remove(word);
+		O ob = this.obstacles.remove(word);
+
+		if (CONTINUOUS_MATCHING) {
+			this.matcher.remove(word);
+		}
+		return ob;
+	}
+
+	/**
+	 * Helper method that releases the lock on an obstacle, if there is one.
+	 */
+
+	private void releaseLock() {
+		this.lockedWord = null;
+		this.pendingWord = null;
+		display.setTarget(null);
+	}
+
+	/**
+	 * Helper method that folds a value into a hash
+	 *
+	 * @param hash  long hash so far
+	 * @param value int value to add
+	 * @return long new hash
+	 */
+
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * 0x100000001b3L;
+	}
+
+	/**
+	 * Receives every collision the engine handles.
+	 */
+
+	public interface CollisionHandler {
+
+		public void collisionOccurred(int damage, String word);
+	}
+}
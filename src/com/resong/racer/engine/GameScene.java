@@ -0,0 +1,44 @@
+package com.resong.racer.engine;
+
+import java.util.List;
+
+import com.resong.racer.objects.HUD;
+
+/**
+ * Public interface for the scene a GameEngine plays out in: the side of the game
+ * that shows obstacles and moves the player, as opposed to the rules. GameWindow
+ * is the Java3D implementation, and HeadlessScene a plain Java one for running
+ * the engine without a display. Footprints are in road coordinates, except the
+ * car's, which is relative to the player.
+ *
+ * @author Rebecca Song
+ * @param <O> Type of object the scene uses for an obstacle
+ */
+public interface GameScene<O> {
+
+	public O addObstacle(String word);
+
+	public void removeObstacle(O obstacle);
+
+	public void removeObstacles(List<O> obstacles);
+
+	public Footprint getFootprint(O obstacle);
+
+	public Footprint getCarFootprint();
+
+	public Iterable<Footprint> getScenery();
+
+	public float getPlayerX();
+
+	public void movePlayerX(float amount);
+
+	public HUD getHUD();
+
+	public void startGame();
+
+	public void pauseResume();
+
+	public void gameOver();
+
+	public void repaintObjects();
+}
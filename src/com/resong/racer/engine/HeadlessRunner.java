@@ -0,0 +1,179 @@
+package com.resong.racer.engine;
+
+/**
+ * HeadlessRunner class runs the game with no display, as fast as it can, with a
+ * bot at the keyboard. Each tick the bot types a few characters of the
+ * obstacle nearest ahead in its lane, or else of the first obstacle still on
+ * the road, now and then making a typo, and the scene moves the player on by a
+ * few simulation steps. When the player's health runs out a new game starts.
+ * It prints the ticks run each second, so it can be used as a load
+ * test of the game rules and to check a change doesn't slow them down.
+ *
+ * Every game gets its own session seed, drawn from the runner's seed. If a
+ * file is given, the first game is recorded to it with a SessionRecorder, so it
+ * can be checked with a SessionReplayer.
+ *
+ * Run from the project directory with optional arguments: the number of ticks,
+ * the characters typed per tick, a random seed, and a file to record to.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+
+import com.resong.racer.dictionary.DictionaryLoader;
+import com.resong.racer.engine.HeadlessScene.HeadlessObstacle;
+import com.resong.racer.objects.HUD;
+import com.resong.racer.structures.CompactWordList;
+import com.resong.racer.structures.HashedUnorderedList;
+
+public class HeadlessRunner {
+
+	//////////// Attributes /////////////
+
+	// Chance of the bot typing a wrong character
+	private static final double TYPO_RATE = 0.02;
+
+	// Distance ahead of the car the bot looks for an obstacle in its way
+	private static final float LOOKAHEAD = 30f;
+
+	//////////// Methods //////////////
+
+	/**
+	 * Main method that runs the games and prints the results
+	 *
+	 * @param args String array holding optional ticks, characters per tick and seed
+	 * @throws Exception throws exception if the dictionary can't be loaded
+	 */
+
+	public static void main(String[] args) throws Exception {
+		int ticks = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+		int typing = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+		long seed = (args.length > 2) ? Long.parseLong(args[2]) : 42;
+		String recording = (args.length > 3) ? args[3] : null;
+
+		DictionaryLoader loader = new DictionaryLoader();
+		CompactWordList words = loader.load();
+		System.out.println(loader.getStats());
+
+		Random random = new Random(seed);
+		HeadlessScene scene = null;
+		GameEngine<HeadlessObstacle> engine = null;
+		SessionRecorder recorder = null;
+
+		int games = 0, typed = 0, collisions = 0, passed = 0, topLevel = 0;
+		long start = System.nanoTime();
+
+		for (int t = 0; t < ticks; t++) {
+
+			// if there is no game, or it is over, start a new one
+
+			if (scene == null || scene.getHUD().isGameOver()) {
+				if (scene != null) {
+					typed += scene.getHUD().getWordCount();
+					collisions += engine.getCollisionCount();
+					passed += engine.getDespawnedCount();
+					topLevel = Math.max(topLevel, scene.getHUD().getLevel());
+					engine.shutdown();
+
+					// the first game is over, so finish its recording
+
+					if (recorder != null) {
+						recorder.close(engine);
+						recorder = null;
+					}
+				}
+
+				long session = random.nextLong();
+				scene = new HeadlessScene(GameEngine.sceneryRandom(session));
+				engine = new GameEngine<HeadlessObstacle>(scene, words, GameEngine.rulesRandom(session));
+
+				if (games == 0 && recording != null) {
+					recorder = new SessionRecorder(recording, session, words.size());
+					engine.setCollisionHandler(recorder::collision);
+					recorder.start();
+				}
+				engine.start();
+				games++;
+			}
+
+			// type the next characters of the obstacle in the way, or the
+			// first one on the road
+
+			for (int c = 0; c < typing; c++) {
+				char key = nextChar(engine, scene, random);
+				if (recorder != null) {
+					recorder.key(KeyEvent.VK_UNDEFINED, key);
+				}
+				engine.keyPressed(KeyEvent.VK_UNDEFINED, key);
+			}
+
+			// move down the road, then let the engine react
+
+			scene.advance();
+
+			if (recorder != null) {
+				recorder.frame(HeadlessScene.STEPS_PER_TICK, scene.getPosition());
+			}
+			engine.tick(HeadlessScene.STEPS_PER_TICK, scene.getPosition());
+
+			if (recorder != null) {
+				recorder.checkpoint(engine);
+			}
+		}
+
+		long elapsed = System.nanoTime() - start;
+		engine.shutdown();
+
+		if (recorder != null) {
+			recorder.close(engine);
+		}
+		HUD hud = scene.getHUD();
+		typed += hud.getWordCount();
+		collisions += engine.getCollisionCount();
+		passed += engine.getDespawnedCount();
+		topLevel = Math.max(topLevel, hud.getLevel());
+
+		System.out.printf("%d ticks in %.1f ms: %.0f ticks per second%n", ticks, elapsed / 1e6,
+				ticks / (elapsed / 1e9));
+		System.out.printf("%d games, %d words typed, %d collisions, %d obstacles passed, highest level %d%n", games,
+				typed, collisions, passed, topLevel);
+	}
+
+	/**
+	 * Helper method that returns the character the bot types next: the one after
+	 * the current word in the word of the obstacle it is typing, or a random
+	 * letter if it makes a typo or has nothing to type.
+	 *
+	 * @param engine GameEngine<HeadlessObstacle> engine of the game
+	 * @param scene  HeadlessScene the bot is playing
+	 * @param random Random picks typos
+	 * @return char character to type
+	 */
+
+	private static char nextChar(GameEngine<HeadlessObstacle> engine, HeadlessScene scene, Random random) {
+		HashedUnorderedList<HeadlessObstacle> live = scene.getObstacles();
+		String current = scene.getHUD().getCurrentWord();
+
+		if (live.isEmpty() || random.nextDouble() < TYPO_RATE) {
+			return (char) ('a' + random.nextInt(26));
+		}
+
+		// carry on with the obstacle whose word has been started, or else
+		// start on the one in the way, or the first one on the road
+
+		HeadlessObstacle ahead = engine.getNearestObstacleAhead(LOOKAHEAD);
+		String target = (ahead != null) ? ahead.getWord() : live.first().getWord();
+
+		for (HeadlessObstacle o : live) {
+			if (o.getWord().startsWith(current) && o.getWord().length() > current.length()) {
+				target = o.getWord();
+				break;
+			}
+		}
+		return (current.length() < target.length() && target.startsWith(current)) ? target.charAt(current.length())
+				: target.charAt(0);
+	}
+}
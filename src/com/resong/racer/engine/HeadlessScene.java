@@ -0,0 +1,298 @@
+package com.resong.racer.engine;
+
+/**
+ * HeadlessScene class is a GameScene without a display, so a GameEngine can be
+ * run with no Java3D at all: in load tests, by bots, or on a build server. It
+ * keeps the obstacles as plain positions on the road, places them the way the
+ * game window does, and moves the player down the road at the speed of the
+ * game, a few simulation steps at a time. The obstacles, the buildings along
+ * the road and the player's car have the footprints of their average sizes in
+ * the game window, and the engine finds the collisions between them.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.resong.racer.objects.HUD;
+import com.resong.racer.structures.HashedUnorderedList;
+
+public class HeadlessScene implements GameScene<HeadlessScene.HeadlessObstacle> {
+
+	//////////// Attributes /////////////
+
+	// Length of the road, and time taken to drive it, as in the game window
+	public static final float ROAD_LENGTH = GameEngine.ROAD_LENGTH;
+	public static final long LAP_MILLIS = 35000;
+
+	// Simulation steps run by each call to advance
+	public static final int STEPS_PER_TICK = 10;
+
+	// Footprint of the player's car, in front of the player
+	private static final Footprint CAR = new Footprint(0, -0.3f, 0.06f, 0.6f);
+
+	// Half the width and length of an obstacle
+	private static final float OBSTACLE_HALF_WIDTH = 0.4f;
+	private static final float OBSTACLE_HALF_LENGTH = 0.45f;
+
+	// Distance from the middle of the road to the middle of a building, distance
+	// between buildings, and half the width and length of a building
+	private static final float BUILDING_X = 3.875f;
+	private static final float BUILDING_SPACING = 10f;
+	private static final float BUILDING_HALF_WIDTH = 1.125f;
+	private static final float BUILDING_HALF_LENGTH = 1.075f;
+
+	private HUD hud; // heads-up display of the game
+
+	private Random random; // places the obstacles
+
+	private HashedUnorderedList<HeadlessObstacle> live; // obstacles still on the road, indexed for removal
+
+	private ArrayList<Footprint> buildings; // footprints of the buildings along the road
+
+	private float playerX; // player's distance from the middle of the road
+
+	private long elapsedMillis; // time spent driving, not counting pauses
+
+	private boolean running; // true once the game has started, until it is over
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a scene with buildings along both sides of the
+	 * road, no obstacles, and the player at the start of the road
+	 *
+	 * @param random Random places the obstacles
+	 */
+
+	public HeadlessScene(Random random) {
+		this.hud = new HUD();
+		this.random = random;
+		this.live = new HashedUnorderedList<HeadlessObstacle>();
+		this.buildings = new ArrayList<Footprint>();
+		this.playerX = 0;
+		this.elapsedMillis = 0;
+		this.running = false;
+
+		// line the road with buildings, leaving the last 30 units clear,
+		// as the game window does
+
+		for (float z = -ROAD_LENGTH + 30; z < 0; z += BUILDING_SPACING) {
+			this.buildings.add(new Footprint(-BUILDING_X, z + 0.25f, BUILDING_HALF_WIDTH, BUILDING_HALF_LENGTH));
+			this.buildings.add(new Footprint(BUILDING_X, z + 0.25f, BUILDING_HALF_WIDTH, BUILDING_HALF_LENGTH));
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that adds an obstacle with the given word somewhere on the road
+	 *
+	 * @param word String above the obstacle
+	 * @return HeadlessObstacle new obstacle
+	 */
+
+	public HeadlessObstacle addObstacle(String word) {
+		float x = -2f + random.nextFloat() * 4f;
+		float z = -ROAD_LENGTH + 30 + random.nextFloat() * 160f;
+		HeadlessObstacle obstacle = new HeadlessObstacle(word, x, z);
+
+		live.addToRear(obstacle);
+		return obstacle;
+	}
+
+	/**
+	 * Method that takes an obstacle off the road
+	 *
+	 * @param obstacle HeadlessObstacle to remove
+	 */
+
+	public void removeObstacle(HeadlessObstacle obstacle) {
+		obstacle.removed = true;
+		live.remove(obstacle);
+	}
+
+	/**
+	 * Method that takes several obstacles off the road at once
+	 *
+	 * @param obstacles List<HeadlessObstacle> obstacles to remove
+	 */
+
+	public void removeObstacles(List<HeadlessObstacle> obstacles) {
+		for (HeadlessObstacle o : obstacles) {
+			o.removed = true;
+			live.remove(o);
+		}
+	}
+
+	/**
+	 * Method that returns the footprint of an obstacle
+	 *
+	 * @param obstacle HeadlessObstacle on the road
+	 * @return Footprint of the obstacle
+	 */
+
+	public Footprint getFootprint(HeadlessObstacle obstacle) {
+		return new Footprint(obstacle.x, obstacle.z, OBSTACLE_HALF_WIDTH, OBSTACLE_HALF_LENGTH);
+	}
+
+	/**
+	 * Method that returns the footprint of the player's car, relative to the
+	 * player
+	 *
+	 * @return Footprint of the car
+	 */
+
+	public Footprint getCarFootprint() {
+		return CAR; // return CAR
+	}
+
+	/**
+	 * Method that returns the footprints of the buildings along the road
+	 *
+	 * @return Iterable<Footprint> footprints of the buildings
+	 */
+
+	public Iterable<Footprint> getScenery() {
+		return this.buildings; // return buildings
+	}
+
+	/**
+	 * Method that returns the player's distance from the middle of the road
+	 *
+	 * @return float x-coordinate of the player
+	 */
+
+	public float getPlayerX() {
+		return this.playerX; // return playerX
+	}
+
+	/**
+	 * Method that moves the player across the road
+	 *
+	 * @param amount float distance to move, negative to move left
+	 */
+
+	public void movePlayerX(float amount) {
+		this.playerX += amount;
+	}
+
+	/**
+	 * Method that returns the HUD of the game
+	 *
+	 * @return HUD heads-up display
+	 */
+
+	public HUD getHUD() {
+		return this.hud; // return hud
+	}
+
+	/**
+	 * Method that starts the player driving down the road
+	 */
+
+	public void startGame() {
+		this.running = true;
+	}
+
+	/**
+	 * Method that stops or restarts the player, following the paused flag of the
+	 * HUD
+	 */
+
+	public void pauseResume() {
+		this.running = !hud.isPaused() && !hud.isGameOver();
+	}
+
+	/**
+	 * Method that stops the game for good
+	 */
+
+	public void gameOver() {
+		this.running = false;
+		hud.setGameOver();
+	}
+
+	/**
+	 * Method that would repaint the scenery at the start of a level; there is
+	 * nothing to paint.
+	 */
+
+	public void repaintObjects() {
+	}
+
+	/**
+	 * Method that moves the player down the road by STEPS_PER_TICK simulation
+	 * steps, unless the game is paused or over
+	 */
+
+	public void advance() {
+		if (running) {
+			elapsedMillis += STEPS_PER_TICK * 1000L / GameEngine.STEP_RATE;
+		}
+	}
+
+	/**
+	 * Method that returns how far along the road the player has driven in this
+	 * lap, from 0 at the start up to the length of the road
+	 *
+	 * @return float player's position along the road
+	 */
+
+	public float getPosition() {
+		return (elapsedMillis % LAP_MILLIS) * ROAD_LENGTH / LAP_MILLIS;
+	}
+
+	/**
+	 * Method that returns the obstacles still on the road. Removing an obstacle
+	 * moves the last one into its place, so they are not kept in the order they
+	 * were added.
+	 *
+	 * @return HashedUnorderedList<HeadlessObstacle> live obstacles
+	 */
+
+	public HashedUnorderedList<HeadlessObstacle> getObstacles() {
+		return this.live; // return live
+	}
+
+	/**
+	 * HeadlessObstacle class is an obstacle with a word, placed on the road.
+	 */
+
+	public static class HeadlessObstacle {
+
+		private String word; // word above the obstacle
+
+		private float x; // distance from the middle of the road
+
+		private float z; // distance down the road, negative ahead of the start
+
+		private boolean removed; // true once taken off the road
+
+		private HeadlessObstacle(String word, float x, float z) {
+			this.word = word;
+			this.x = x;
+			this.z = z;
+			this.removed = false;
+		}
+
+		public String getWord() {
+			return this.word; // return word
+		}
+
+		public float getX() {
+			return this.x; // return x
+		}
+
+		public float getZ() {
+			return this.z; // return z
+		}
+
+		public boolean isRemoved() {
+			return this.removed; // return removed
+		}
+	}
+}
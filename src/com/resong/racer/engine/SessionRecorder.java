@@ -0,0 +1,274 @@
+package com.resong.racer.engine;
+
+/**
+ * SessionRecorder class writes everything that drives a GameEngine during one
+ * session to a compact binary file, so a SessionReplayer can play the session
+ * back exactly: the seed, then the start of the game, every key pressed, every
+ * frame event and every collision, each with the time since the previous one.
+ * Every CHECK_INTERVAL frame events, and at the end, it also writes the
+ * engine's checksum, which the replay must match.
+ *
+ * The file starts with the magic number, the format version, the seed and the
+ * number of words in the dictionary. Each event is a type byte and the
+ * nanoseconds since the previous event as a variable length number, followed
+ * by the key code and character of a key, the simulation steps and road
+ * position of a frame event, the damage done by a collision and the word of
+ * the obstacle hit, or the checksum of a check. Most events take 3 to
+ * 8 bytes.
+ *
+ * A recorder that can't write stops recording and prints why once; the game
+ * carries on either way.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class SessionRecorder {
+
+	//////////// Attributes /////////////
+
+	// Start of every recording, and version of the format
+	public static final int MAGIC = 0x54525243;
+	public static final int VERSION = 3;
+
+	// Types of events
+	public static final int START = 1;
+	public static final int KEY = 2;
+	public static final int FRAME = 3;
+	public static final int COLLISION = 4;
+	public static final int CHECK = 5;
+	public static final int END = 6;
+
+	// Number of frame events between checks
+	public static final int CHECK_INTERVAL = 64;
+
+	private String path; // file being written
+
+	private DataOutputStream out; // stream to the file, or null once closed
+
+	private long lastTime; // time of the previous event, in nanoseconds
+
+	private int frameEvents; // number of frame events recorded
+
+	private int events; // number of events recorded
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that creates the recording file and writes its header
+	 *
+	 * @param path      String path of the file to write
+	 * @param seed      long seed of the session
+	 * @param wordCount int number of words in the dictionary
+	 * @throws IOException throws exception if the file can't be created
+	 */
+
+	public SessionRecorder(String path, long seed, int wordCount) throws IOException {
+		this.path = path;
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16));
+		this.lastTime = System.nanoTime();
+		this.frameEvents = 0;
+		this.events = 0;
+
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(seed);
+		out.writeInt(wordCount);
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that records the start of the game
+	 */
+
+	public synchronized void start() {
+		try {
+			writeEvent(START);
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Method that records a key press
+	 *
+	 * @param keyCode int virtual key code of the key
+	 * @param keyChar char character of the key
+	 */
+
+	public synchronized void key(int keyCode, char keyChar) {
+		try {
+			if (writeEvent(KEY)) {
+				writeVarLong(keyCode);
+				writeVarLong(keyChar);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Method that records a frame event
+	 *
+	 * @param steps    int number of simulation steps since the last frame event
+	 * @param position float player's position along the road
+	 */
+
+	public synchronized void frame(int steps, float position) {
+		try {
+			if (writeEvent(FRAME)) {
+				writeVarLong(steps);
+				out.writeFloat(position);
+				frameEvents++;
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Method that records a collision, to be passed to the engine as its
+	 * CollisionHandler
+	 *
+	 * @param damage int health taken by the collision
+	 * @param word   String word of the obstacle hit, or null if it wasn't one
+	 */
+
+	public synchronized void collision(int damage, String word) {
+		try {
+			if (writeEvent(COLLISION)) {
+				writeVarLong(damage);
+				out.writeUTF((word == null) ? "" : word);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Method that records the checksum of the engine if a check is due, which is
+	 * every CHECK_INTERVAL frame events. Called after each frame event is handled.
+	 *
+	 * @param engine GameEngine<?> engine the session drives
+	 */
+
+	public synchronized void checkpoint(GameEngine<?> engine) {
+		if (frameEvents % CHECK_INTERVAL == 0) {
+			check(engine.checksum());
+		}
+	}
+
+	/**
+	 * Method that records the final checksum of the engine and closes the file
+	 *
+	 * @param engine GameEngine<?> engine the session drove
+	 */
+
+	public synchronized void close(GameEngine<?> engine) {
+		check(engine.checksum());
+		close();
+	}
+
+	/**
+	 * Method that ends the recording and closes the file. Does nothing if it is
+	 * already closed.
+	 */
+
+	public synchronized void close() {
+		try {
+			if (writeEvent(END)) {
+				out.close();
+				System.out.println("Recorded " + events + " events to " + path);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+		out = null;
+	}
+
+	/**
+	 * Method that returns the number of events recorded
+	 *
+	 * @return int number of events
+	 */
+
+	public int getEventCount() {
+		return this.events; // return events
+	}
+
+	/**
+	 * Helper method that records a checksum
+	 *
+	 * @param checksum long checksum of the engine
+	 */
+
+	private void check(long checksum) {
+		try {
+			if (writeEvent(CHECK)) {
+				out.writeLong(checksum);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Helper method that writes the type and time of an event, unless the recorder
+	 * is closed
+	 *
+	 * @param type int type of event
+	 * @return boolean true if the event was written, false if closed
+	 * @throws IOException throws exception if the file can't be written
+	 */
+
+	private boolean writeEvent(int type) throws IOException {
+		if (out == null) {
+			return false;
+		}
+
+		long now = System.nanoTime();
+		out.writeByte(type);
+		writeVarLong(now - lastTime);
+		lastTime = now;
+		events++;
+		return true;
+	}
+
+	/**
+	 * Helper method that writes a non-negative number in 7-bit groups, low group
+	 * first, with the top bit of each byte set if more follow.
+	 *
+	 * @param value long number to write
+	 * @throws IOException throws exception if the file can't be written
+	 */
+
+	private void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	/**
+	 * Helper method that stops recording after a write fails
+	 *
+	 * @param e IOException reason the write failed
+	 */
+
+	private void fail(IOException e) {
+		System.out.println("Recording stopped: " + e.getMessage());
+		try {
+			out.close();
+		} catch (IOException ignored) {
+			// already failing
+		}
+		out = null;
+	}
+}
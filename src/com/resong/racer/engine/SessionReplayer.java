@@ -0,0 +1,289 @@
+package com.resong.racer.engine;
+
+/**
+ * SessionReplayer class plays a session written by a SessionRecorder back
+ * through a GameEngine in a HeadlessScene, with the same seed and dictionary, so
+ * the engine does exactly what it did in the game. At each check in the
+ * recording it compares the engine's checksum with the recorded one, and stops
+ * at the first that differs. By default it replays as fast as it can; given a
+ * speed, it keeps to that many times the recorded pace, which helps reproduce a
+ * session that was slow.
+ *
+ * Run from the project directory with the recording file and an optional speed,
+ * such as 100, or 0 for as fast as possible.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import com.resong.racer.dictionary.DictionaryLoader;
+import com.resong.racer.engine.HeadlessScene.HeadlessObstacle;
+import com.resong.racer.structures.CompactWordList;
+
+public class SessionReplayer {
+
+	//////////// Attributes /////////////
+
+	private CompactWordList words; // dictionary the session was played with
+
+	private double speed; // multiple of the recorded pace, or 0 for no limit
+
+	private GameEngine<HeadlessObstacle> engine; // engine of the replay
+
+	private int events; // number of events replayed
+
+	private int checks; // number of checks that matched
+
+	private long recordedNanos; // length of the session as recorded
+
+	private long steps; // number of simulation steps in the session
+
+	private long replayNanos; // time the replay took
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a replayer over the given dictionary
+	 *
+	 * @param words CompactWordList dictionary the sessions were played with
+	 * @param speed double multiple of the recorded pace to keep to, or 0 to replay
+	 *              as fast as possible
+	 */
+
+	public SessionReplayer(CompactWordList words, double speed) {
+		this.words = words;
+		this.speed = speed;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Main method that replays a recording and prints the results
+	 *
+	 * @param args String array holding the recording file and an optional speed
+	 * @throws Exception throws exception if the dictionary or recording can't be
+	 *                   read
+	 */
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.out.println("Usage: SessionReplayer <recording> [speed]");
+			return;
+		}
+
+		double speed = (args.length > 1) ? Double.parseDouble(args[1]) : 0;
+		CompactWordList words = new DictionaryLoader().load();
+		SessionReplayer replayer = new SessionReplayer(words, speed);
+
+		boolean exact = replayer.replay(args[0]);
+
+		System.out.printf("Replayed %d events, %d checks matched: %s%n", replayer.getEventCount(),
+				replayer.getCheckCount(), exact ? "exact" : "DIVERGED");
+		double gameNanos = replayer.steps * 1e9 / GameEngine.STEP_RATE;
+		System.out.printf("Session of %.1f s (%.1f s of play) replayed in %.1f ms (%.0fx)%n",
+				replayer.recordedNanos / 1e9, gameNanos / 1e9, replayer.replayNanos / 1e6,
+				Math.max(replayer.recordedNanos, gameNanos) / Math.max(1, replayer.replayNanos));
+		System.out.printf("Level %d, %d words typed, health %d%n", replayer.engine.getScene().getHUD().getLevel(),
+				replayer.engine.getScene().getHUD().getWordCount(), replayer.engine.getScene().getHUD().getHealth());
+
+		if (!exact) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Method that replays a recording, returning whether every check matched.
+	 * Throws an IOException if the file isn't a recording of this format, or was
+	 * made with a different dictionary.
+	 *
+	 * @param path String path of the recording
+	 * @return boolean true if every check matched, false at the first that didn't
+	 * @throws IOException throws exception if the recording can't be read
+	 */
+
+	public boolean replay(String path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 1 << 16))) {
+
+			// read the header and set up the engine as the game did
+
+			if (in.readInt() != SessionRecorder.MAGIC) {
+				throw new IOException("Not a session recording: " + path);
+			}
+
+			// recordings before version 2 didn't store the damage of a collision,
+			// which was always the default, or the obstacle hit
+
+			int version = in.readByte();
+			if (version < 1 || version > SessionRecorder.VERSION) {
+				throw new IOException("Unknown recording version " + version + ": " + path);
+			}
+
+			long seed = in.readLong();
+			int wordCount = in.readInt();
+
+			if (wordCount != words.size()) {
+				throw new IOException("Recorded with " + wordCount + " words, dictionary has " + words.size());
+			}
+
+			HeadlessScene scene = new HeadlessScene(GameEngine.sceneryRandom(seed));
+			this.engine = new GameEngine<HeadlessObstacle>(scene, words, GameEngine.rulesRandom(seed));
+			this.engine.setCollisionDetection(false); // the recorded collisions are played back instead
+			this.engine.setDespawning(version >= 3); // passed obstacles stayed in play before version 3
+			this.events = 0;
+			this.checks = 0;
+			this.recordedNanos = 0;
+			this.steps = 0;
+
+			long start = System.nanoTime();
+
+			try {
+
+				// feed each event to the engine in turn
+
+				while (true) {
+					int type = in.readUnsignedByte();
+					recordedNanos += readVarLong(in);
+					events++;
+
+					if (speed > 0) {
+						pace(start);
+					}
+
+					switch (type) {
+
+					case SessionRecorder.START:
+						engine.start();
+						break;
+
+					case SessionRecorder.KEY:
+						int keyCode = (int) readVarLong(in);
+						engine.keyPressed(keyCode, (char) readVarLong(in));
+						break;
+
+					case SessionRecorder.FRAME:
+						int count = (int) readVarLong(in);
+						steps += count;
+						engine.tick(count, in.readFloat());
+						break;
+
+					case SessionRecorder.COLLISION:
+						if (version < 2) {
+							engine.collisionOccurred();
+						} else {
+							int damage = (int) readVarLong(in);
+							String word = in.readUTF();
+							engine.collisionOccurred(damage, word.isEmpty() ? null : word);
+						}
+						break;
+
+					// if the engine has drifted from the game, stop here
+
+					case SessionRecorder.CHECK:
+						long expected = in.readLong();
+						if (engine.checksum() != expected) {
+							System.out.println("Checksum differs at event " + events);
+							return false;
+						}
+						checks++;
+						break;
+
+					case SessionRecorder.END:
+						return true;
+
+					default:
+						throw new IOException("Unknown event type " + type + " at event " + events);
+					}
+				}
+			}
+
+			// a recording cut short, such as by the game being killed, still
+			// replays up to where it stops
+
+			catch (EOFException e) {
+				return true;
+			}
+
+			finally {
+				replayNanos = System.nanoTime() - start;
+				engine.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Method that returns the number of events replayed
+	 *
+	 * @return int number of events
+	 */
+
+	public int getEventCount() {
+		return this.events; // return events
+	}
+
+	/**
+	 * Method that returns the number of checks that matched
+	 *
+	 * @return int number of checks
+	 */
+
+	public int getCheckCount() {
+		return this.checks; // return checks
+	}
+
+	/**
+	 * Method that returns the engine of the latest replay
+	 *
+	 * @return GameEngine<HeadlessObstacle> engine
+	 */
+
+	public GameEngine<HeadlessObstacle> getEngine() {
+		return this.engine; // return engine
+	}
+
+	/**
+	 * Helper method that waits until the replay has caught up with the recorded
+	 * time of the current event, sped up by the speed.
+	 *
+	 * @param start long time the replay started, in nanoseconds
+	 */
+
+	private void pace(long start) {
+		long due = start + (long) (recordedNanos / speed);
+		long wait = due - System.nanoTime();
+
+		if (wait > 0) {
+			try {
+				Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Helper method that reads a number written in 7-bit groups, low group first
+	 *
+	 * @param in DataInputStream stream to read
+	 * @return long number read
+	 * @throws IOException throws exception if the stream can't be read
+	 */
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed number in recording");
+	}
+}
@@ -0,0 +1,269 @@
+package com.resong.racer.engine;
+
+/**
+ * SpatialGrid class is a uniform grid over the road that stores items by their
+ * footprints, to find which items overlap a rectangle, and which is nearest
+ * ahead of a point, without looking at every item. The road is long and
+ * narrow, so the grid only divides it along its length: each cell holds the
+ * items whose footprints reach into that stretch of road, and an item longer
+ * than a cell is in each cell it reaches. A query only looks at the few cells
+ * its rectangle reaches, so with the items spread along the road it takes the
+ * same time however many there are.
+ *
+ * Positions before or past the ends of the grid fall in its first or last cell.
+ *
+ * @author Rebecca Song
+ * @param <T> Type of item stored
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class SpatialGrid<T> {
+
+	//////////// Attributes /////////////
+
+	private float minZ; // start of the first cell along the road
+
+	private float cellSize; // length of road covered by each cell
+
+	private ArrayList<ArrayList<Entry<T>>> cells; // items reaching into each cell
+
+	private HashMap<T, Entry<T>> entries; // entry of each item, by item
+
+	private int stamp; // number of the current query, to report items in several cells once
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty grid covering the given stretch of
+	 * road
+	 *
+	 * @param minZ     float start of the stretch along the road
+	 * @param maxZ     float end of the stretch along the road
+	 * @param cellSize float length of road covered by each cell
+	 */
+
+	public SpatialGrid(float minZ, float maxZ, float cellSize) {
+		if (cellSize <= 0 || maxZ <= minZ) {
+			throw new IllegalArgumentException("Invalid grid: " + minZ + " to " + maxZ + " by " + cellSize);
+		}
+
+		int count = (int) Math.ceil((maxZ - minZ) / cellSize);
+
+		this.minZ = minZ;
+		this.cellSize = cellSize;
+		this.cells = new ArrayList<ArrayList<Entry<T>>>(count);
+		this.entries = new HashMap<T, Entry<T>>();
+		this.stamp = 0;
+
+		for (int i = 0; i < count; i++) {
+			this.cells.add(new ArrayList<Entry<T>>());
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that adds an item with the given footprint to the grid, moving it if
+	 * it is already there
+	 *
+	 * @param item      T item to add
+	 * @param footprint Footprint of the item on the road
+	 */
+
+	public void add(T item, Footprint footprint) {
+		remove(item);
+
+		Entry<T> entry = new Entry<T>(item, footprint);
+		entry.first = cellOf(entry.minZ);
+		entry.last = cellOf(entry.maxZ);
+
+		for (int c = entry.first; c <= entry.last; c++) {
+			cells.get(c).add(entry);
+		}
+		entries.put(item, entry);
+	}
+
+	/**
+	 * Method that removes an item from the grid
+	 *
+	 * @param item T item to remove
+	 * @return boolean true if the item was in the grid, else false
+	 */
+
+	public boolean remove(T item) {
+		Entry<T> entry = entries.remove(item);
+
+		if (entry == null) {
+			return false;
+		}
+
+		// swap the last entry of each cell into the removed one's place
+
+		for (int c = entry.first; c <= entry.last; c++) {
+			ArrayList<Entry<T>> cell = cells.get(c);
+			int i = cell.indexOf(entry);
+			cell.set(i, cell.get(cell.size() - 1));
+			cell.remove(cell.size() - 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Method that returns whether an item is in the grid
+	 *
+	 * @param item T item to look for
+	 * @return boolean true if the item is in the grid, else false
+	 */
+
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	/**
+	 * Method that returns the footprint an item was added with
+	 *
+	 * @param item T item to look for
+	 * @return Footprint of the item, or null if it isn't in the grid
+	 */
+
+	public Footprint getFootprint(T item) {
+		Entry<T> entry = entries.get(item);
+		return (entry == null) ? null : entry.footprint;
+	}
+
+	/**
+	 * Method that returns the number of items in the grid
+	 *
+	 * @return int number of items
+	 */
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Method that removes every item from the grid
+	 */
+
+	public void clear() {
+		for (ArrayList<Entry<T>> cell : cells) {
+			cell.clear();
+		}
+		entries.clear();
+	}
+
+	/**
+	 * Method that adds every item whose footprint overlaps the given rectangle to
+	 * a list, each once, and returns how many there were
+	 *
+	 * @param minX  float left side of the rectangle
+	 * @param maxX  float right side of the rectangle
+	 * @param minZ  float far end of the rectangle along the road
+	 * @param maxZ  float near end of the rectangle along the road
+	 * @param found List<T> list to add the items to
+	 * @return int number of items added
+	 */
+
+	public int findOverlapping(float minX, float maxX, float minZ, float maxZ, List<T> found) {
+		int count = 0;
+		int query = ++stamp;
+
+		for (int c = cellOf(minZ), last = cellOf(maxZ); c <= last; c++) {
+			ArrayList<Entry<T>> cell = cells.get(c);
+
+			for (int i = 0; i < cell.size(); i++) {
+				Entry<T> e = cell.get(i);
+
+				if (e.stamp != query && e.minX < maxX && e.maxX > minX && e.minZ < maxZ && e.maxZ > minZ) {
+					e.stamp = query;
+					found.add(e.item);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Method that returns the item nearest ahead of a point along the road, out of
+	 * those whose footprints are wholly ahead of it, within the given distance,
+	 * and overlapping the given stretch across the road. Ahead is towards the far
+	 * end of the road, where z is lower.
+	 *
+	 * @param minX  float left side of the stretch across the road
+	 * @param maxX  float right side of the stretch across the road
+	 * @param z     float point along the road to look ahead from
+	 * @param range float furthest distance ahead to look
+	 * @return T nearest item ahead, or null if there is none in range
+	 */
+
+	public T findNearestAhead(float minX, float maxX, float z, float range) {
+		Entry<T> nearest = null;
+		float best = range;
+
+		// look through the cells from the point onwards, stopping once a
+		// cell starts further ahead than the nearest item found
+
+		for (int c = cellOf(z), last = cellOf(z - range); c >= last; c--) {
+			if (z - (this.minZ + (c + 1) * cellSize) > best) {
+				break;
+			}
+
+			ArrayList<Entry<T>> cell = cells.get(c);
+
+			for (int i = 0; i < cell.size(); i++) {
+				Entry<T> e = cell.get(i);
+				float distance = z - e.maxZ;
+
+				if (distance >= 0 && distance <= best && e.minX < maxX && e.maxX > minX) {
+					nearest = e;
+					best = distance;
+				}
+			}
+		}
+		return (nearest == null) ? null : nearest.item;
+	}
+
+	/**
+	 * Helper method that returns the cell holding a point along the road
+	 *
+	 * @param z float point along the road
+	 * @return int index of the cell
+	 */
+
+	private int cellOf(float z) {
+		int c = (int) Math.floor((z - minZ) / cellSize);
+		return Math.max(0, Math.min(cells.size() - 1, c));
+	}
+
+	/**
+	 * Entry class holds an item with the bounds of its footprint and the cells it
+	 * reaches.
+	 */
+
+	private static class Entry<T> {
+
+		private T item; // item stored
+
+		private Footprint footprint; // footprint it was added with
+
+		private float minX, maxX, minZ, maxZ; // bounds of the footprint
+
+		private int first, last; // first and last cells it is in
+
+		private int stamp; // number of the last query that reported it
+
+		private Entry(T item, Footprint footprint) {
+			this.item = item;
+			this.footprint = footprint;
+			this.minX = footprint.getX() - footprint.getHalfWidth();
+			this.maxX = footprint.getX() + footprint.getHalfWidth();
+			this.minZ = footprint.getZ() - footprint.getHalfLength();
+			this.maxZ = footprint.getZ() + footprint.getHalfLength();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.resong.racer.listeners;
+
+import java.lang.reflect.Array;
+import java.util.EventListener;
+
+/**
+ * Typed list of listeners of one kind, such as FrameListeners, for firing
+ * events without allocating. The listeners are kept in an array that is
+ * copied whenever a listener is added or removed, and never changed once
+ * published, so firing an event is a plain loop over the current array, with
+ * no locking, copying or class checks. Adding or removing a listener while an
+ * event is being fired is safe, and takes effect from the next event.
+ *
+ * @author Rebecca Song
+ * @param <L> Type of listener
+ */
+public class EventBus<L extends EventListener> {
+
+	/***************************************************************************
+	 * INSTANCE VARIABLES
+	 **************************************************************************/
+
+	// Type of listener, for creating arrays of it
+	private Class<L> type;
+
+	// Current listeners, replaced rather than changed
+	private volatile L[] listeners;
+
+	/***************************************************************************
+	 * CONSTRUCTORS
+	 **************************************************************************/
+
+	/**
+	 * Creates an empty bus for listeners of the specified type
+	 *
+	 * @param type Class of the listeners
+	 */
+	@SuppressWarnings("unchecked")
+	public EventBus(Class<L> type) {
+		this.type = type;
+		this.listeners = (L[]) Array.newInstance(type, 0);
+	}
+
+	/***************************************************************************
+	 * PUBLIC METHODS
+	 **************************************************************************/
+
+	/**
+	 * Subscribes the specified listener to events. A listener can be subscribed
+	 * more than once, and is then notified once for each subscription
+	 *
+	 * @param listener The listener to subscribe
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void add(L listener) {
+		if (listener == null) {
+			return;
+		}
+
+		L[] current = listeners;
+		L[] next = (L[]) Array.newInstance(type, current.length + 1);
+		System.arraycopy(current, 0, next, 0, current.length);
+		next[current.length] = listener;
+		listeners = next;
+	}
+
+	/**
+	 * Unsubscribes the most recent subscription of the specified listener, if it
+	 * is subscribed
+	 *
+	 * @param listener The listener to unsubscribe
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void remove(L listener) {
+		L[] current = listeners;
+
+		for (int i = current.length - 1; i >= 0; i--) {
+			if (current[i] == listener) {
+				L[] next = (L[]) Array.newInstance(type, current.length - 1);
+				System.arraycopy(current, 0, next, 0, i);
+				System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+				listeners = next;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the current listeners, in the order they subscribed, to fire an
+	 * event to. The array must not be changed
+	 *
+	 * @return The current listeners
+	 */
+	public L[] getListeners() {
+		return listeners;
+	}
+
+	/**
+	 * Returns the number of subscriptions
+	 *
+	 * @return The number of listeners
+	 */
+	public int size() {
+		return listeners.length;
+	}
+
+	/**
+	 * Returns whether there are no listeners, so building an event can be skipped
+	 *
+	 * @return True if there are no listeners, else false
+	 */
+	public boolean isEmpty() {
+		return listeners.length == 0;
+	}
+}
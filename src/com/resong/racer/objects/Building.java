@@ -57,7 +57,7 @@ public class Building extends ComplexObject {
 	private final float BUILDING_LENGTH = 1.0f;
 
 	// Flags used to construct a building object
-	private final static int BUILDING_FLAGS = ComplexObject.GEOMETRY | ComplexObject.TEXTURE | ComplexObject.COLLISION;
+	private final static int BUILDING_FLAGS = ComplexObject.GEOMETRY | ComplexObject.TEXTURE;
 
 	/***************************************************************************
 	 * INSTANCE VARIABLES
@@ -66,6 +66,9 @@ public class Building extends ComplexObject {
 	// The shape used to represent a building
 	private Box shape;
 
+	// Position of the building
+	private Vector3d position;
+
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
@@ -79,12 +82,40 @@ public class Building extends ComplexObject {
 	 */
 	public Building(Group group, Vector3d position, Vector3d scale) {
 		super(group, position, scale, BUILDING_FLAGS);
+		this.position = position;
 	}
 
 	/***************************************************************************
 	 * PUBLIC METHODS
 	 **************************************************************************/
 
+	/**
+	 * Returns the position of the middle of the building
+	 * 
+	 * @return The position of the building
+	 */
+	public Vector3d getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns half the width of the building, across the road
+	 * 
+	 * @return Half the width of the building
+	 */
+	public float getWidth() {
+		return shape.getXdimension();
+	}
+
+	/**
+	 * Returns half the length of the building, along the road
+	 * 
+	 * @return Half the length of the building
+	 */
+	public float getLength() {
+		return shape.getZdimension();
+	}
+
 	/**
 	 * Sets the appearance (texture) of the building
 	 * 
@@ -60,7 +60,7 @@ public class Car extends ComplexObject {
 	public static final float CAR_LENGTH = 0.6f;
 
 	// Flags used to construct a car object
-	private static int CAR_FLAGS = ComplexObject.GEOMETRY | ComplexObject.TEXTURE | ComplexObject.COLLISION;
+	private static int CAR_FLAGS = ComplexObject.GEOMETRY | ComplexObject.TEXTURE;
 
 	/***************************************************************************
 	 * INSTANCE VARIABLES
@@ -97,20 +97,6 @@ public class Car extends ComplexObject {
 		this.shape.setAppearance(app);
 	}
 
-	/**
-	 * Called when the car collides with a game object
-	 * 
-	 * @param collide Whether or not the car is currently colliding with an object
-	 */
-	@Override
-	public void onCollide(boolean collide) {
-
-		// If we're colliding, fire a collision event to notify all observers
-		if (collide) {
-			this.fireCollisionEvent();
-		}
-	}
-
 	/***************************************************************************
 	 * PROTECTED METHODS
 	 **************************************************************************/
@@ -7,7 +7,6 @@ import javax.media.j3d.Group;
 import javax.media.j3d.Node;
 import javax.media.j3d.Transform3D;
 import javax.media.j3d.TransformGroup;
-import javax.swing.event.EventListenerList;
 
 /*******************************************************************************
  *
@@ -40,7 +39,6 @@ import javax.vecmath.Point3d;
 import javax.vecmath.Vector3d;
 
 import com.resong.racer.behaviours.CollisionBehavior;
-import com.resong.racer.listeners.CollisionListener;
 
 /**
  * Abstract class providing routines to create and initialize a scene graph
@@ -79,9 +77,6 @@ public abstract class ComplexObject extends BranchGroup {
 	// Behaviour transform group to which the object belongs
 	protected TransformGroup behaviourTransformGroup;
 
-	// Collision listeners
-	private EventListenerList listenerList;
-
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
@@ -98,7 +93,6 @@ public abstract class ComplexObject extends BranchGroup {
 
 		parentGroup = group;
 		this.flags = flags;
-		listenerList = new EventListenerList();
 
 		this.initializeObject(position, scale);
 	}
@@ -107,25 +101,6 @@ public abstract class ComplexObject extends BranchGroup {
 	 * PUBLIC METHODS
 	 **************************************************************************/
 
-	/**
-	 * Subscribes the specified listener to collision notifications involving the
-	 * object
-	 * 
-	 * @param listener The listener to subscribe
-	 */
-	public void addCollisionListener(CollisionListener listener) {
-		listenerList.add(CollisionListener.class, listener);
-	}
-
-	/**
-	 * Unsubscribes the specified listener from collision notifications
-	 * 
-	 * @param listener The listener to unsubscribe
-	 */
-	public void removeCollisionListener(CollisionListener listener) {
-		listenerList.remove(CollisionListener.class, listener);
-	}
-
 	/**
 	 * Called when a collision occurs involving the object
 	 * 
@@ -140,22 +115,6 @@ public abstract class ComplexObject extends BranchGroup {
 	 * PROTECTED METHODS
 	 **************************************************************************/
 
-	/**
-	 * Notifies all listeners that a collision occurred
-	 */
-	protected void fireCollisionEvent() {
-
-		// Get the listeners
-		Object[] listeners = listenerList.getListenerList();
-
-		// Iterate over the listeners, notifying each one
-		for (int i = 0; i < listeners.length; i += 2) {
-			if (listeners[i] == CollisionListener.class) {
-				((CollisionListener) listeners[i + 1]).collisionOccurred();
-			}
-		}
-	}
-
 	/**
 	 * Returns the bounds of the object
 	 * 
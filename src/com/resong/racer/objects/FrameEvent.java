@@ -29,8 +29,11 @@ import javax.vecmath.Vector3f;
 /*******************************************************************************
  *
  * Passed to objects that subscribe to elapsed frame events. Contains the
- * current position of the player avatar, as well as the number of frames that
- * have elapsed since the last notification
+ * current position of the player avatar, the number of frames that have
+ * elapsed since the last notification, and the number of fixed-length
+ * simulation steps that have passed since then. The FrameBehaviour reuses one
+ * event, and its position, for every notification, so listeners should copy
+ * anything they want to keep after tick() returns
  * 
  * @author Jeff Shantz
  *
@@ -48,6 +51,12 @@ public class FrameEvent {
 	// Number of frames elapsed since the last notification
 	private int frameCountSinceLastEvent;
 
+	// Number of simulation steps passed since the last notification
+	private int steps;
+
+	// Fraction of a step passed since the last step
+	private double alpha;
+
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
@@ -60,8 +69,25 @@ public class FrameEvent {
 	 *                                 notification
 	 */
 	public FrameEvent(Vector3f position, int frameCountSinceLastEvent) {
+		this(position, frameCountSinceLastEvent, frameCountSinceLastEvent, 0);
+	}
+
+	/**
+	 * Creates a new FrameEvent from a fixed-timestep clock
+	 * 
+	 * @param position                 Current position of the player avatar
+	 * @param frameCountSinceLastEvent Number of frames elapsed since the last
+	 *                                 notification
+	 * @param steps                    Number of simulation steps passed since the
+	 *                                 last notification
+	 * @param alpha                    Fraction of a step passed since the last
+	 *                                 step
+	 */
+	public FrameEvent(Vector3f position, int frameCountSinceLastEvent, int steps, double alpha) {
 		this.position = position;
 		this.frameCountSinceLastEvent = frameCountSinceLastEvent;
+		this.steps = steps;
+		this.alpha = alpha;
 	}
 
 	/***************************************************************************
@@ -85,4 +111,42 @@ public class FrameEvent {
 	public int getFrameCountSinceLastEvent() {
 		return frameCountSinceLastEvent;
 	}
+
+	/**
+	 * Returns the number of simulation steps passed since the last notification,
+	 * which may be 0 when frames are drawn faster than the simulation runs
+	 * 
+	 * @return The number of simulation steps to run
+	 */
+	public int getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Returns how far this frame lies between the last simulation step and the
+	 * next, for drawing objects moved by the simulation between their last two
+	 * positions
+	 * 
+	 * @return The fraction of a step passed since the last step, from 0 to 1
+	 */
+	public double getAlpha() {
+		return alpha;
+	}
+
+	/**
+	 * Fills in the event for a new notification. The position is updated in place
+	 * by whoever owns the vector
+	 * 
+	 * @param frameCountSinceLastEvent Number of frames elapsed since the last
+	 *                                 notification
+	 * @param steps                    Number of simulation steps passed since the
+	 *                                 last notification
+	 * @param alpha                    Fraction of a step passed since the last
+	 *                                 step
+	 */
+	public void update(int frameCountSinceLastEvent, int steps, double alpha) {
+		this.frameCountSinceLastEvent = frameCountSinceLastEvent;
+		this.steps = steps;
+		this.alpha = alpha;
+	}
 }
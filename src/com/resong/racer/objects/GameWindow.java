@@ -39,6 +39,8 @@ import java.awt.GraphicsConfiguration;
 import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.List;
+import java.util.Random;
 
 import javax.media.j3d.Alpha;
 import javax.media.j3d.Appearance;
@@ -60,9 +62,10 @@ import javax.vecmath.Vector3d;
 import javax.vecmath.Vector3f;
 
 import com.resong.racer.behaviours.FrameBehaviour;
-import com.resong.racer.behaviours.KeyBehaviour;
-import com.resong.racer.listeners.CollisionListener;
+import com.resong.racer.engine.Footprint;
+import com.resong.racer.engine.GameScene;
 import com.resong.racer.listeners.FrameListener;
+import com.resong.racer.structures.InputRingBuffer;
 import com.sun.j3d.utils.geometry.Primitive;
 import com.sun.j3d.utils.geometry.Sphere;
 import com.sun.j3d.utils.universe.SimpleUniverse;
@@ -76,7 +79,7 @@ import com.sun.j3d.utils.universe.ViewingPlatform;
  * @author Daniel Selman
  */
 public abstract class GameWindow extends javax.swing.JFrame
-		implements KeyListener, CollisionListener, FrameListener, TextureManager.Notifiable {
+		implements KeyListener, FrameListener, TextureManager.Notifiable, GameScene<Obstacle> {
 
 	/***************************************************************************
 	 * CONSTANT DECLARATIONS
@@ -86,6 +89,11 @@ public abstract class GameWindow extends javax.swing.JFrame
 	private final static int WINDOW_WIDTH = 800;
 	private final static int WINDOW_HEIGHT = 600;
 
+	// Distance of the player's car in front of the player, and its scale across
+	// the road
+	private final static float CAR_OFFSET = -0.3f;
+	private final static float CAR_SCALE = 0.3f;
+
 	/***************************************************************************
 	 * INSTANCE VARIABLES
 	 **************************************************************************/
@@ -117,12 +125,18 @@ public abstract class GameWindow extends javax.swing.JFrame
 	// The player's avatar
 	private Car playerCar;
 
-	// Monitors user keypresses
-	private KeyBehaviour keys;
+	// Key presses captured on the AWT event thread, waiting for the game step
+	private InputRingBuffer input;
 
 	// Monitors elapsed frames
 	private FrameBehaviour frames;
 
+	// Obstacles waiting to be attached to or detached from the scene
+	private SceneMutationQueue sceneChanges;
+
+	// Obstacles removed from the scene, to be reused
+	private ObstaclePool obstaclePool;
+
 	// Scene background
 	private Sphere sky;
 
@@ -135,6 +149,9 @@ public abstract class GameWindow extends javax.swing.JFrame
 	// Game splash screen
 	private GameSplashScreen splash;
 
+	// Used to place obstacles and buildings
+	private Random random;
+
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
@@ -145,9 +162,24 @@ public abstract class GameWindow extends javax.swing.JFrame
 	 * @throws Exception If loading textures fails in any way
 	 */
 	public GameWindow() throws Exception {
+		this(new Random());
+	}
+
+	/**
+	 * Creates a new TyperRacer game window that places objects using the given
+	 * random numbers, so a seeded session places them the same way every time,
+	 * and loads all game textures
+	 * 
+	 * @param random Random numbers used to place obstacles and buildings
+	 * @throws Exception If loading textures fails in any way
+	 */
+	public GameWindow(Random random) throws Exception {
 
+		this.random = random;
+		this.input = new InputRingBuffer();
 		this.buildings = new java.util.ArrayList<Building>();
 		this.hud = new HUD();
+		this.obstaclePool = new ObstaclePool();
 
 		// Create and show the splash screen
 		splash = new GameSplashScreen(this);
@@ -185,24 +217,84 @@ public abstract class GameWindow extends javax.swing.JFrame
 	 */
 	public Obstacle addObstacle(String word) {
 
-		// New scenegraph branch for the obstacle and its text
-		BranchGroup bg = new BranchGroup();
-
 		// Randomly place the obstacle at a position on the road somewhere
 		Vector3d position = new Vector3d(getRandomNumber(-2f, 4f), getRandomNumber(0.3f, 0.5f),
 				getRandomNumber(Road.ROAD_LENGTH + 30, 160f));
 
-		// Create the obstacle, add the word above it, and set its texture
-		Vector3d scale = new Vector3d(1, 1, 1);
-		Obstacle obstacle = new Obstacle(bg, position, scale);
+		// Reuse a removed obstacle, or create one, add the word above it, and
+		// set its texture
+		Obstacle obstacle = this.obstaclePool.acquire(position);
 		obstacle.setWord(word);
-		obstacle.setAppearance(this.textureMgr.getRandomAppearance(TextureManager.TextureType.OBSTACLE));
+		obstacle.setTexture(this.textureMgr.getRandomTexture(TextureManager.TextureType.OBSTACLE));
 
-		// Add the obstacle to the root transform group and return it
-		this.tgRoot.addChild(bg);
+		// Queue the obstacle to be added to the root transform group at the end
+		// of the frame, and return it
+		this.sceneChanges.attach(obstacle.getBranchGroup());
 		return obstacle;
 	}
 
+	/**
+	 * Removes an obstacle from the game
+	 * 
+	 * @param obstacle The obstacle to remove
+	 */
+	public void removeObstacle(Obstacle obstacle) {
+		this.sceneChanges.detach(obstacle.getBranchGroup());
+		obstacle.recycle();
+	}
+
+	/**
+	 * Removes several obstacles from the game at once, such as those the player
+	 * has driven past
+	 * 
+	 * @param obstacles The obstacles to remove
+	 */
+	public void removeObstacles(List<Obstacle> obstacles) {
+
+		for (Obstacle obstacle : obstacles) {
+			this.sceneChanges.detach(obstacle.getBranchGroup());
+			obstacle.recycle();
+		}
+	}
+
+	/**
+	 * Returns the footprint of an obstacle on the road, for the game engine to
+	 * find collisions with
+	 * 
+	 * @param obstacle The obstacle
+	 * @return The footprint of the obstacle
+	 */
+	public Footprint getFootprint(Obstacle obstacle) {
+		Vector3d position = obstacle.getPosition();
+		return new Footprint((float) position.x, (float) position.z, obstacle.getWidth(), obstacle.getLength());
+	}
+
+	/**
+	 * Returns the footprint of the player's car, relative to the player
+	 * 
+	 * @return The footprint of the car
+	 */
+	public Footprint getCarFootprint() {
+		return new Footprint(0, CAR_OFFSET, Car.CAR_WIDTH * CAR_SCALE, Car.CAR_LENGTH);
+	}
+
+	/**
+	 * Returns the footprints of the buildings along the road
+	 * 
+	 * @return The footprints of the buildings
+	 */
+	public Iterable<Footprint> getScenery() {
+
+		java.util.ArrayList<Footprint> scenery = new java.util.ArrayList<Footprint>();
+
+		for (Building b : this.buildings) {
+			Vector3d position = b.getPosition();
+			scenery.add(new Footprint((float) position.x, (float) position.z, b.getWidth(), b.getLength()));
+		}
+
+		return scenery;
+	}
+
 	/**
 	 * Displays the game window and starts moving the player avatar
 	 */
@@ -298,15 +390,27 @@ public abstract class GameWindow extends javax.swing.JFrame
 		this.posInt.setEnable(false);
 		this.playerAlpha.pause();
 
-		// Stop monitoring collisions, keypresses, and elapsed frames
-		this.playerCar.removeCollisionListener(this);
-		this.keys.removeKeyListener(this);
+		// Stop monitoring keypresses and elapsed frames
+		this.gameCanvas.removeKeyListener(this);
 		this.frames.removeFrameListener(this);
 
 		// Notify the HUD
 		this.hud.setGameOver();
 	}
 
+	/**
+	 * Used to repaint all static objects in the scene -- the sky, road, and all
+	 * buildings. Should be called at the end of the level to make it appear as
+	 * though the user is entering a new level (even though we're just looping
+	 * around again and using the same objects on the screen)
+	 */
+	public void repaintObjects() {
+
+		this.paintSky();
+		this.paintRoad();
+		this.paintBuildings();
+	}
+
 	/***************************************************************************
 	 * PROTECTED METHODS
 	 **************************************************************************/
@@ -320,19 +424,6 @@ public abstract class GameWindow extends javax.swing.JFrame
 	 */
 	protected abstract void gameReady();
 
-	/**
-	 * Used to repaint all static objects in the scene -- the sky, road, and all
-	 * buildings. Should be called at the end of the level to make it appear as
-	 * though the user is entering a new level (even though we're just looping
-	 * around again and using the same objects on the screen)
-	 */
-	protected void repaintObjects() {
-
-		this.paintSky();
-		this.paintRoad();
-		this.paintBuildings();
-	}
-
 	/***************************************************************************
 	 * PRIVATE METHODS
 	 **************************************************************************/
@@ -360,15 +451,14 @@ public abstract class GameWindow extends javax.swing.JFrame
 		t3d.set(new Vector3f(0, 0.5f, 0));
 		playerGroup.setTransform(t3d);
 
-		keys = new KeyBehaviour(this.playerGroup);
-		keys.addKeyListener(this);
-		keys.setSchedulingBounds(this.getBoundingSphere());
 		u.getViewer().setAvatar(this.createPlayer());
 
-		// Create the scene graph, apply textures, and start monitoring key presses
+		// Create the scene graph and apply textures
 		this.createSceneGraph();
 		this.repaintObjects();
-		this.bgRoot.addChild(keys);
+
+		// Start capturing key presses on the AWT event thread
+		gameCanvas.addKeyListener(this);
 		u.addBranchGraph(this.bgRoot);
 		u.getViewingPlatform().getViewPlatform().setActivationRadius(2);
 
@@ -427,6 +517,11 @@ public abstract class GameWindow extends javax.swing.JFrame
 		// Initialize the main transform group
 		this.tgRoot = addBehaviors(bgRoot);
 
+		// Build the obstacles ahead of time, so they aren't built while playing
+		for (int i = 0; i < obstaclePool.getCapacity(); i++) {
+			obstaclePool.prebuild(new Vector3d(0, getRandomNumber(0.3f, 0.5f), 0));
+		}
+
 		// Create all game objects
 		createBuildings(tgRoot);
 		createRoad(tgRoot);
@@ -481,7 +576,7 @@ public abstract class GameWindow extends javax.swing.JFrame
 	 * @return A random floating point number between basis and basis + random
 	 */
 	private float getRandomNumber(float basis, float random) {
-		return basis + ((float) Math.random() * random);
+		return basis + (this.random.nextFloat() * random);
 	}
 
 	/**
@@ -597,6 +692,11 @@ public abstract class GameWindow extends javax.swing.JFrame
 		// Start monitoring user keypresses
 		frames = new FrameBehaviour(objTrans);
 		frames.addFrameListener(this);
+
+		// Apply the scene changes made during each frame once the game has made
+		// them
+		sceneChanges = new SceneMutationQueue(objTrans);
+		frames.addFrameListener(sceneChanges);
 		frames.setSchedulingBounds(getBoundingSphere());
 
 		bgRoot.addChild(objTrans);
@@ -626,16 +726,14 @@ public abstract class GameWindow extends javax.swing.JFrame
 		TransformGroup tg = new TransformGroup();
 
 		// Set its initial position and scale
-		Vector3d position = new Vector3d(0, -0.3, -0.3);
-		Vector3d scale = new Vector3d(0.3, 0.3, 1);
+		Vector3d position = new Vector3d(0, -0.3, CAR_OFFSET);
+		Vector3d scale = new Vector3d(CAR_SCALE, CAR_SCALE, 1);
 
-		// Create the avatar object and paint it
+		// Create the avatar object and paint it; the game engine finds its
+		// collisions, so Java3D doesn't need to
 		playerCar = new Car(tg, position, scale);
 		playerCar.setAppearance(this.textureMgr.getRandomAppearance(TextureManager.TextureType.PLAYER));
 
-		// Wire up collision notification events
-		playerCar.addCollisionListener(this);
-
 		tg.addChild(playerCar);
 		va.addChild(tg);
 
@@ -653,6 +751,46 @@ public abstract class GameWindow extends javax.swing.JFrame
 		}
 	}
 
+	/**
+	 * Returns the queue of changes to the scene applied at the end of each frame,
+	 * with statistics of the changes applied so far
+	 * 
+	 * @return The queue of scene changes
+	 */
+	public SceneMutationQueue getSceneChanges() {
+		return this.sceneChanges;
+	}
+
+	/**
+	 * Returns the pool of obstacles removed from the scene, to set its capacity
+	 * or read its statistics
+	 * 
+	 * @return The obstacle pool
+	 */
+	public ObstaclePool getObstaclePool() {
+		return this.obstaclePool;
+	}
+
+	/**
+	 * Returns the queue of key presses waiting to be handled by the game step.
+	 * Subclasses should drain it from their frame listener
+	 * 
+	 * @return The queue of key presses
+	 */
+	public InputRingBuffer getInput() {
+		return this.input;
+	}
+
+	/**
+	 * Captures a key press on the AWT event thread, queueing it with the time it
+	 * was pressed for the game step to handle. Should not be called by subclasses
+	 * 
+	 * @param e The event that occurred
+	 */
+	public void keyPressed(KeyEvent e) {
+		this.input.offer(e.getKeyCode(), e.getKeyChar(), System.nanoTime());
+	}
+
 	/***************************************************************************
 	 * INTERFACE METHODS -- NOT USED
 	 **************************************************************************/
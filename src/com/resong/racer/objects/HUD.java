@@ -58,6 +58,14 @@ public class HUD {
 	// Current word being typed
 	private String currentWord;
 
+	// Word of the obstacle the player is locked on to, or null
+	private String target;
+
+	// Word of the obstacle in the player's way, or null, and the number of its
+	// characters to type before no other obstacle's word starts the same way
+	private String hint;
+	private int hintLength;
+
 	// Whether or not the game is over
 	private boolean gameOver;
 
@@ -89,6 +97,9 @@ public class HUD {
 		this.gameOver = false;
 		this.isPaused = false;
 		this.currentWord = "";
+		this.target = null;
+		this.hint = null;
+		this.hintLength = 0;
 	}
 
 	/**
@@ -194,6 +205,57 @@ public class HUD {
 		return this.currentWord;
 	}
 
+	/**
+	 * Sets the word of the obstacle the player is locked on to, so the HUD can
+	 * highlight it. Passing null clears the lock
+	 * 
+	 * @param target The locked word, or null
+	 */
+	public void setTarget(String target) {
+		this.target = target;
+	}
+
+	/**
+	 * Returns the word of the obstacle the player is locked on to
+	 * 
+	 * @return The locked word, or null if there is no lock
+	 */
+	public String getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Sets the word of the obstacle in the player's way, so the HUD can show how
+	 * much of it must be typed to pick it out from the other obstacles. Passing
+	 * null clears the hint
+	 * 
+	 * @param hint   The word of the obstacle in the way, or null
+	 * @param length The length of its shortest unique prefix
+	 */
+	public void setHint(String hint, int length) {
+		this.hint = hint;
+		this.hintLength = (hint == null) ? 0 : length;
+	}
+
+	/**
+	 * Returns the word of the obstacle in the player's way
+	 * 
+	 * @return The word of the obstacle in the way, or null if there is none
+	 */
+	public String getHint() {
+		return this.hint;
+	}
+
+	/**
+	 * Returns the number of characters of the hinted word to type before no other
+	 * obstacle's word starts the same way
+	 * 
+	 * @return The length of the hinted word's shortest unique prefix
+	 */
+	public int getHintLength() {
+		return this.hintLength;
+	}
+
 	/**
 	 * Returns the current level
 	 * 
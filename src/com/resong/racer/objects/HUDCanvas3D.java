@@ -189,6 +189,45 @@ public class HUDCanvas3D extends Canvas3D {
 
 		this.g2d.drawString("Current Word:", 510, 25);
 		this.g2d.setFont(this.currentWordFont);
-		this.g2d.drawString(this.hud.getCurrentWord(), 645, 25);
+
+		// If locked on to an obstacle, highlight the typed part of its word
+		// and show the rest of it in grey
+		String target = this.hud.getTarget();
+		String hint = this.hud.getHint();
+		String current = this.hud.getCurrentWord();
+
+		if (target != null && target.startsWith(current)) {
+			this.g2d.setColor(Color.YELLOW);
+			this.g2d.drawString(current, 645, 25);
+			this.g2d.setColor(Color.GRAY);
+			this.g2d.drawString(target.substring(current.length()),
+					645 + this.g2d.getFontMetrics().stringWidth(current), 25);
+		}
+
+		// Else if typing the word of the obstacle in the way, or nothing yet,
+		// show in cyan how much more of it to type to lock on to it
+		else if (hint != null && hint.startsWith(current)) {
+			int unique = Math.max(this.hud.getHintLength(), current.length());
+			int x = this.drawPart(current, Color.WHITE, 645);
+			x = this.drawPart(hint.substring(current.length(), unique), Color.CYAN, x);
+			this.drawPart(hint.substring(unique), Color.GRAY, x);
+		} else {
+			this.g2d.drawString(current, 645, 25);
+		}
+	}
+
+	/**
+	 * Draws part of the current word in the specified colour, and returns where
+	 * the next part starts
+	 * 
+	 * @param part  The text to draw
+	 * @param color The colour to draw it in
+	 * @param x     The position at which to draw it
+	 * @return The position just after the text
+	 */
+	private int drawPart(String part, Color color, int x) {
+		this.g2d.setColor(color);
+		this.g2d.drawString(part, x, 25);
+		return x + this.g2d.getFontMetrics().stringWidth(part);
 	}
 }
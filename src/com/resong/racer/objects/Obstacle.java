@@ -11,6 +11,7 @@ import javax.media.j3d.Group;
 import javax.media.j3d.Material;
 import javax.media.j3d.Shape3D;
 import javax.media.j3d.Text3D;
+import javax.media.j3d.Texture;
 import javax.media.j3d.Transform3D;
 import javax.media.j3d.TransformGroup;
 
@@ -87,6 +88,21 @@ public class Obstacle extends ComplexObject {
 	// Position of the obstacle
 	protected Vector3d position;
 
+	// Scale and position of the obstacle, reused when it is moved
+	private Transform3D placement;
+
+	// Appearance of the obstacle, whose texture can be changed
+	private Appearance appearance;
+
+	// Text displayed above the obstacle, once it has a word
+	private Text3D text;
+
+	// Pool the obstacle returns to when it is removed, if any
+	private ObstaclePool pool;
+
+	// Font of the text above every obstacle
+	private static Font3D font;
+
 	/***************************************************************************
 	 * CONSTRUCTORS
 	 **************************************************************************/
@@ -102,6 +118,11 @@ public class Obstacle extends ComplexObject {
 		super(group, position, scale, OBSTACLE_FLAGS);
 		this.position = position;
 		group.setCapability(BranchGroup.ALLOW_DETACH);
+
+		// Allow the obstacle to be moved when it is reused
+		this.placement = new Transform3D();
+		transformGroup.getTransform(placement);
+		transformGroup.setCapability(TransformGroup.ALLOW_TRANSFORM_WRITE);
 	}
 
 	/***************************************************************************
@@ -109,10 +130,54 @@ public class Obstacle extends ComplexObject {
 	 **************************************************************************/
 
 	/**
-	 * Removes the obstacle from the scene
+	 * Removes the obstacle from the scene, and returns it to its pool
 	 */
 	public void remove() {
 		((BranchGroup) super.parentGroup).detach();
+		recycle();
+	}
+
+	/**
+	 * Returns the obstacle to the pool it came from, if any, to be reused. The
+	 * obstacle must be out of the scene, or about to be, and no longer used
+	 */
+	public void recycle() {
+
+		if (pool != null) {
+			pool.release(this);
+		}
+	}
+
+	/**
+	 * Sets the pool the obstacle returns to when it is removed
+	 * 
+	 * @param pool The pool of the obstacle
+	 */
+	void setPool(ObstaclePool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Moves the obstacle to the specified place along and across the road. Its
+	 * height is fixed when it is built
+	 * 
+	 * @param position New position of the obstacle
+	 */
+	public void setPosition(Vector3d position) {
+		this.position.x = position.x;
+		this.position.z = position.z;
+
+		placement.setTranslation(this.position);
+		transformGroup.setTransform(placement);
+	}
+
+	/**
+	 * Returns the branch holding the obstacle and its word in the scene
+	 * 
+	 * @return The branch of the obstacle
+	 */
+	public BranchGroup getBranchGroup() {
+		return (BranchGroup) super.parentGroup;
 	}
 
 	/**
@@ -122,6 +187,12 @@ public class Obstacle extends ComplexObject {
 	 */
 	public void setWord(String word) {
 
+		// Change the text if the obstacle already has one
+		if (text != null) {
+			text.setString(word);
+			return;
+		}
+
 		// Define the position of the text
 		TransformGroup tg = new TransformGroup();
 		Transform3D t3d = new Transform3D();
@@ -130,8 +201,10 @@ public class Obstacle extends ComplexObject {
 		tg.setTransform(t3d);
 
 		// Create the text itself
-		Text3D d = new Text3D(new Font3D(new Font("Arial", Font.BOLD, 1), new FontExtrusion()), word);
+		Text3D d = new Text3D(getFont(), word);
 		d.setAlignment(Text3D.ALIGN_CENTER);
+		d.setCapability(Text3D.ALLOW_STRING_WRITE);
+		this.text = d;
 		Appearance a = new Appearance();
 		Material m = new Material();
 		m.setShininess(100f);
@@ -150,6 +223,33 @@ public class Obstacle extends ComplexObject {
 		grp.addChild(bg);
 	}
 
+	/**
+	 * Returns the position of the middle of the obstacle
+	 * 
+	 * @return The position of the obstacle
+	 */
+	public Vector3d getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns half the width of the obstacle, across the road
+	 * 
+	 * @return Half the width of the obstacle
+	 */
+	public float getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns half the length of the obstacle, along the road
+	 * 
+	 * @return Half the length of the obstacle
+	 */
+	public float getLength() {
+		return length;
+	}
+
 	/**
 	 * Sets the appearance (texture) of the obstacle
 	 * 
@@ -159,6 +259,16 @@ public class Obstacle extends ComplexObject {
 		this.box.setAppearance(app);
 	}
 
+	/**
+	 * Sets the texture of the obstacle's own appearance, which can be done while
+	 * the obstacle is in the scene
+	 * 
+	 * @param texture The new texture for the obstacle
+	 */
+	public void setTexture(Texture texture) {
+		this.appearance.setTexture(texture);
+	}
+
 	/***************************************************************************
 	 * PROTECTED METHODS
 	 **************************************************************************/
@@ -185,10 +295,30 @@ public class Obstacle extends ComplexObject {
 		grp.setCapability(Group.ALLOW_CHILDREN_WRITE);
 		this.width = this.getRandomNumber(MIN_WIDTH, 0.2f);
 		this.length = this.getRandomNumber(MIN_LENGTH, 0.5f);
+		this.appearance = new Appearance();
+		this.appearance.setCapability(Appearance.ALLOW_TEXTURE_WRITE);
 		this.box = new Box(this.width, (float) position.y, this.length, Primitive.GENERATE_TEXTURE_COORDS,
-				new Appearance());
+				this.appearance);
 		grp.addChild(box);
 
 		return grp;
 	}
+
+	/***************************************************************************
+	 * PRIVATE METHODS
+	 **************************************************************************/
+
+	/**
+	 * Returns the font of the text above every obstacle, creating it the first
+	 * time
+	 * 
+	 * @return The font of the obstacle text
+	 */
+	private static synchronized Font3D getFont() {
+
+		if (font == null) {
+			font = new Font3D(new Font("Arial", Font.BOLD, 1), new FontExtrusion());
+		}
+		return font;
+	}
 }
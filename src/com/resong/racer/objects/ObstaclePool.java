@@ -0,0 +1,222 @@
+package com.resong.racer.objects;
+
+import javax.media.j3d.BranchGroup;
+
+import javax.vecmath.Vector3d;
+
+import com.resong.racer.structures.CircularArrayList;
+
+/**
+ * Keeps obstacles that have been removed from the scene, so new obstacles can
+ * reuse them rather than build a new box, appearance, text and scene graph
+ * branch each time, and throw them away again when they are removed. A reused
+ * obstacle is moved to its new place along and across the road, and keeps the
+ * height and size it was built with; its word and texture are changed by the
+ * caller.
+ *
+ * The pool holds at most its capacity of free obstacles; any more released are
+ * left to be collected. It counts the obstacles it could hand out again (hits)
+ * and those it had to build (misses)
+ *
+ * @author Rebecca Song
+ */
+public class ObstaclePool {
+
+	/***************************************************************************
+	 * CONSTANT DECLARATIONS
+	 **************************************************************************/
+
+	// Number of free obstacles kept unless another capacity is given
+	public static final int DEFAULT_CAPACITY = 32;
+
+	// Scale of the obstacles built
+	private static final Vector3d SCALE = new Vector3d(1, 1, 1);
+
+	/***************************************************************************
+	 * INSTANCE VARIABLES
+	 **************************************************************************/
+
+	// Obstacles free to be reused, oldest first
+	private CircularArrayList<Obstacle> free;
+
+	// Largest number of free obstacles kept
+	private int capacity;
+
+	// Statistics of the obstacles handed out and returned
+	private long hits;
+	private long misses;
+	private long released;
+	private long discarded;
+
+	/***************************************************************************
+	 * CONSTRUCTORS
+	 **************************************************************************/
+
+	/**
+	 * Creates an empty pool with the default capacity
+	 */
+	public ObstaclePool() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty pool keeping at most the specified number of free
+	 * obstacles
+	 *
+	 * @param capacity The largest number of free obstacles kept
+	 */
+	public ObstaclePool(int capacity) {
+		this.free = new CircularArrayList<Obstacle>();
+		setCapacity(capacity);
+	}
+
+	/***************************************************************************
+	 * PUBLIC METHODS
+	 **************************************************************************/
+
+	/**
+	 * Builds a new obstacle at the specified position and keeps it free, unless
+	 * the pool is full
+	 *
+	 * @param position Position of the obstacle, whose height it keeps
+	 * @return True if the obstacle was built; false if the pool is full
+	 */
+	public synchronized boolean prebuild(Vector3d position) {
+
+		if (free.size() >= capacity) {
+			return false;
+		}
+
+		free.addToRear(build(position));
+		return true;
+	}
+
+	/**
+	 * Returns an obstacle at the specified position: a free one moved there, or a
+	 * new one if there are none free. The obstacle is not in the scene
+	 *
+	 * @param position Position of the obstacle. A reused obstacle only takes its
+	 *                 place along and across the road
+	 * @return The obstacle
+	 */
+	public synchronized Obstacle acquire(Vector3d position) {
+
+		if (free.isEmpty()) {
+			misses++;
+			return build(position);
+		}
+
+		hits++;
+		Obstacle obstacle = free.removeFirst();
+		obstacle.setPosition(position);
+		return obstacle;
+	}
+
+	/**
+	 * Returns an obstacle removed from the scene to the pool, to be reused. It is
+	 * dropped if the pool is full
+	 *
+	 * @param obstacle The obstacle to return
+	 */
+	public synchronized void release(Obstacle obstacle) {
+
+		if (free.size() >= capacity) {
+			discarded++;
+			return;
+		}
+
+		released++;
+		free.addToRear(obstacle);
+	}
+
+	/**
+	 * Sets the largest number of free obstacles kept, dropping the oldest free
+	 * obstacles beyond it
+	 *
+	 * @param capacity The largest number of free obstacles kept
+	 */
+	public synchronized void setCapacity(int capacity) {
+
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid pool capacity: " + capacity);
+		}
+
+		this.capacity = capacity;
+
+		while (free.size() > capacity) {
+			free.removeFirst();
+		}
+	}
+
+	/**
+	 * Returns the largest number of free obstacles kept
+	 *
+	 * @return The capacity of the pool
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of obstacles free to be reused
+	 *
+	 * @return The number of free obstacles
+	 */
+	public synchronized int size() {
+		return free.size();
+	}
+
+	/**
+	 * Returns the number of obstacles handed out that were reused
+	 *
+	 * @return The number of hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of obstacles handed out that had to be built
+	 *
+	 * @return The number of misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the fraction of obstacles handed out that were reused
+	 *
+	 * @return The hit rate, from 0 to 1
+	 */
+	public double getHitRate() {
+		long total = hits + misses;
+		return (total == 0) ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Returns a summary of the obstacles handed out and returned
+	 *
+	 * @return A string summarizing the pool
+	 */
+	public String toString() {
+		return String.format("%d hits, %d misses (%.1f%% reused), %d released, %d dropped, %d of %d free", hits,
+				misses, getHitRate() * 100, released, discarded, free.size(), capacity);
+	}
+
+	/***************************************************************************
+	 * PRIVATE METHODS
+	 **************************************************************************/
+
+	/**
+	 * Builds a new obstacle, in its own branch, belonging to the pool
+	 *
+	 * @param position Position of the obstacle
+	 * @return The new obstacle
+	 */
+	private Obstacle build(Vector3d position) {
+		Obstacle obstacle = new Obstacle(new BranchGroup(), new Vector3d(position), SCALE);
+		obstacle.setPool(this);
+		return obstacle;
+	}
+}
@@ -0,0 +1,249 @@
+package com.resong.racer.objects;
+
+import java.util.HashMap;
+
+import javax.media.j3d.BranchGroup;
+import javax.media.j3d.Group;
+
+import com.resong.racer.listeners.FrameListener;
+import com.resong.racer.structures.CircularArrayList;
+
+/**
+ * Collects the branches to attach to and detach from a live group during a
+ * game step, and applies them together at the end of the frame, from the frame
+ * behaviour. Every change to a live scene graph is expensive in Java3D, so the
+ * branches attached in one frame are put in one new branch first, while it is
+ * not live, and that branch is attached in a single change. A branch detached
+ * in the same frame it was attached is never attached at all. A batch branch
+ * is detached once every branch in it has been
+ *
+ * The queue keeps statistics of how many changes were waiting when it was
+ * applied, and how long applying them took
+ *
+ * @author Rebecca Song
+ */
+public class SceneMutationQueue implements FrameListener {
+
+	/***************************************************************************
+	 * INSTANCE VARIABLES
+	 **************************************************************************/
+
+	// Live group the branches are attached to
+	private Group parent;
+
+	// Branches waiting to be attached and detached, in the order queued
+	private CircularArrayList<BranchGroup> attaches;
+	private CircularArrayList<BranchGroup> detaches;
+
+	// Batch each branch attached with others went in, by branch
+	private HashMap<BranchGroup, Batch> batches;
+
+	// Statistics of the changes applied
+	private long applies;
+	private long attached;
+	private long detached;
+	private long cancelled;
+	private long totalDepth;
+	private int maxDepth;
+	private long totalApplyNanos;
+	private long maxApplyNanos;
+
+	/***************************************************************************
+	 * CONSTRUCTORS
+	 **************************************************************************/
+
+	/**
+	 * Creates an empty queue of changes to the specified group, which must allow
+	 * its children to be extended and written
+	 *
+	 * @param parent The live group the branches are attached to
+	 */
+	public SceneMutationQueue(Group parent) {
+		this.parent = parent;
+		this.attaches = new CircularArrayList<BranchGroup>();
+		this.detaches = new CircularArrayList<BranchGroup>();
+		this.batches = new HashMap<BranchGroup, Batch>();
+	}
+
+	/***************************************************************************
+	 * PUBLIC METHODS
+	 **************************************************************************/
+
+	/**
+	 * Queues a branch to be attached to the group at the end of the frame
+	 *
+	 * @param branch The branch to attach
+	 */
+	public synchronized void attach(BranchGroup branch) {
+		attaches.addToRear(branch);
+	}
+
+	/**
+	 * Queues a branch to be detached from the scene at the end of the frame. The
+	 * branch must allow detaching. If it is still waiting to be attached, it is
+	 * simply never attached
+	 *
+	 * @param branch The branch to detach
+	 */
+	public synchronized void detach(BranchGroup branch) {
+
+		if (attaches.contains(branch)) {
+			attaches.remove(branch);
+			cancelled++;
+		} else if (!detaches.contains(branch)) {
+			detaches.addToRear(branch);
+		}
+	}
+
+	/**
+	 * Applies the changes queued during the frame, once every other frame
+	 * listener has made its changes
+	 *
+	 * @param event Details of the frame
+	 */
+	public void tick(FrameEvent event) {
+		apply();
+	}
+
+	/**
+	 * Applies every queued change: detaches the branches to detach, then attaches
+	 * the branches to attach, as one batch
+	 */
+	public synchronized void apply() {
+
+		int depth = attaches.size() + detaches.size();
+
+		if (depth == 0) {
+			return;
+		}
+
+		long start = System.nanoTime();
+
+		// Detach each branch, and its batch once the batch is empty
+		while (!detaches.isEmpty()) {
+			BranchGroup branch = detaches.removeFirst();
+			branch.detach();
+			detached++;
+
+			Batch batch = batches.remove(branch);
+			if (batch != null && --batch.count == 0) {
+				batch.group.detach();
+			}
+		}
+
+		// Attach a lone branch by itself, or several in a new batch
+		if (attaches.size() == 1) {
+			parent.addChild(attaches.removeFirst());
+			attached++;
+		} else if (!attaches.isEmpty()) {
+			Batch batch = new Batch();
+
+			while (!attaches.isEmpty()) {
+				BranchGroup branch = attaches.removeFirst();
+				batch.group.addChild(branch);
+				batch.count++;
+				batches.put(branch, batch);
+			}
+
+			parent.addChild(batch.group);
+			attached += batch.count;
+		}
+
+		long elapsed = System.nanoTime() - start;
+
+		applies++;
+		totalDepth += depth;
+		maxDepth = Math.max(maxDepth, depth);
+		totalApplyNanos += elapsed;
+		maxApplyNanos = Math.max(maxApplyNanos, elapsed);
+	}
+
+	/**
+	 * Returns the number of changes waiting to be applied
+	 *
+	 * @return The number of queued changes
+	 */
+	public synchronized int size() {
+		return attaches.size() + detaches.size();
+	}
+
+	/**
+	 * Returns the number of frames that applied at least one change
+	 *
+	 * @return The number of applies
+	 */
+	public long getApplyCount() {
+		return applies;
+	}
+
+	/**
+	 * Returns the average number of changes waiting when the queue was applied
+	 *
+	 * @return The mean queue depth
+	 */
+	public double getMeanDepth() {
+		return (applies == 0) ? 0 : (double) totalDepth / applies;
+	}
+
+	/**
+	 * Returns the largest number of changes waiting when the queue was applied
+	 *
+	 * @return The maximum queue depth
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Returns the average time taken to apply the queued changes
+	 *
+	 * @return The mean apply time in nanoseconds
+	 */
+	public double getMeanApplyNanos() {
+		return (applies == 0) ? 0 : (double) totalApplyNanos / applies;
+	}
+
+	/**
+	 * Returns the longest time taken to apply the queued changes
+	 *
+	 * @return The maximum apply time in nanoseconds
+	 */
+	public long getMaxApplyNanos() {
+		return maxApplyNanos;
+	}
+
+	/**
+	 * Returns a summary of the changes applied
+	 *
+	 * @return A string summarizing the queue
+	 */
+	public String toString() {
+		return String.format(
+				"%d attached and %d detached in %d frames, %d cancelled, mean depth %.1f, max %d, "
+						+ "mean apply %.3f ms, max %.3f ms",
+				attached, detached, applies, cancelled, getMeanDepth(), maxDepth, getMeanApplyNanos() / 1e6,
+				maxApplyNanos / 1e6);
+	}
+
+	/***************************************************************************
+	 * NESTED CLASSES
+	 **************************************************************************/
+
+	/**
+	 * Branch holding the branches attached together in one frame
+	 */
+	private static class Batch {
+
+		// Branch the batch is attached as
+		private BranchGroup group;
+
+		// Number of its branches not yet detached
+		private int count;
+
+		private Batch() {
+			group = new BranchGroup();
+			group.setCapability(BranchGroup.ALLOW_DETACH);
+			group.setCapability(Group.ALLOW_CHILDREN_WRITE);
+		}
+	}
+}
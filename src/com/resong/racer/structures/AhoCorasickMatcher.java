@@ -0,0 +1,466 @@
+package com.resong.racer.structures;
+
+/**
+ * AhoCorasickMatcher class recognizes a set of words in a continuous stream of
+ * characters. Words are kept in a trie whose nodes also have failure links (the
+ * longest proper suffix of the node that is also in the trie) and output links
+ * (the longest proper suffix of the node that is a whole word). Feeding the
+ * matcher one character at a time reports any word that ends at that character,
+ * without the stream ever having to be reset.
+ *
+ * Words can be added and removed while matching. Only the links that change
+ * are updated: a new node takes over the nodes whose longest suffix it now is,
+ * and a removed node hands its nodes back to its own failure link.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Iterator;
+
+import com.resong.racer.exceptions.InvalidStringException;
+import com.resong.racer.exceptions.StringExistsException;
+import com.resong.racer.exceptions.StringNotFoundException;
+
+public class AhoCorasickMatcher<T> {
+
+	//////////// Attributes /////////////
+
+	private Node<T> root; // root node of the trie
+
+	private Node<T> state; // node for the longest suffix of the stream in the trie
+
+	private Node<T> match; // word matched by the last character, or null
+
+	private int count; // number of words in the matcher
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty matcher
+	 */
+
+	public AhoCorasickMatcher() {
+		this.root = new Node<T>(' ', null);
+		this.root.fail = this.root;
+		this.state = this.root;
+		this.match = null;
+		this.count = 0;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method to add a word with an associated data object to the matcher. Throws
+	 * an exception if the word is empty, uses a character above 255, or is already
+	 * in the matcher.
+	 *
+	 * @param word String to be added
+	 * @param data T object to be returned when the word is matched
+	 * @throws StringExistsException  throw exception if word already exists
+	 * @throws InvalidStringException throw exception if invalid word entered
+	 */
+
+	public void add(String word, T data) throws StringExistsException, InvalidStringException {
+
+		validate(word);
+
+		// walk down the trie, creating and linking any missing nodes in
+		// order of depth, so each new node's parent is already linked
+
+		Node<T> current = root;
+
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			Node<T> child = current.children.get(c);
+
+			if (child == null) {
+				child = new Node<T>(c, current);
+				current.children.set(c, child);
+				current.childCount++;
+				link(child);
+			}
+
+			current = child;
+		}
+
+		// if the word is already in the matcher, throw an exception
+
+		if (current.terminal) {
+			throw new StringExistsException(word);
+		}
+
+		// mark the end node as a word, and point the output links of the
+		// nodes below it in the failure tree at it
+
+		current.terminal = true;
+		current.word = word;
+		current.data = data;
+		refreshOutputs(current);
+		this.count++;
+	}
+
+	/**
+	 * Method to remove a word from the matcher and return its data object. Nodes
+	 * left without a word below them are removed, and the nodes that failed to
+	 * them are moved to their failure links.
+	 *
+	 * @param word String to be removed
+	 * @return T data object associated with the word
+	 * @throws InvalidStringException  throw exception if invalid word entered
+	 * @throws StringNotFoundException throw exception if word is not found
+	 */
+
+	public T remove(String word) throws InvalidStringException, StringNotFoundException {
+
+		validate(word);
+
+		Node<T> end = findNode(word);
+
+		// if the word isn't in the matcher, throw an exception
+
+		if (end == null || !end.terminal) {
+			throw new StringNotFoundException(word);
+		}
+
+		// unmark the end node and refresh the output links below it
+
+		T data = end.data;
+		end.terminal = false;
+		end.word = null;
+		end.data = null;
+		refreshOutputs(end);
+		this.count--;
+
+		if (this.match == end) {
+			this.match = null;
+		}
+
+		// remove nodes from the bottom up while they hold no word
+		// and have no children
+
+		Node<T> current = end;
+
+		while (current != root && !current.terminal && current.childCount == 0) {
+			Node<T> parent = current.parent;
+			unlink(current);
+			parent.children.set(current.character, null);
+			parent.childCount--;
+			current = parent;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Method that determines if the word passed to it is in the matcher.
+	 *
+	 * @param word String to look for
+	 * @return boolean true if the word is in the matcher, else false
+	 */
+
+	public boolean contains(String word) {
+		Node<T> end = findNode(word);
+		return end != null && end.terminal;
+	}
+
+	/**
+	 * Method that feeds the next character of the stream to the matcher. Returns
+	 * the data object of the longest word ending at this character, or null if no
+	 * word ends here.
+	 *
+	 * @param c char next character of the stream
+	 * @return T data object of the matched word, or null
+	 */
+
+	public T step(char c) {
+
+		// follow failure links until a node has a child for c
+
+		Node<T> current = this.state;
+
+		while (current != root && current.children.get(c) == null) {
+			current = current.fail;
+		}
+
+		Node<T> next = current.children.get(c);
+		this.state = (next != null) ? next : root;
+
+		// the longest word ending here is the node itself, or else the
+		// nearest word along its failure links
+
+		this.match = this.state.terminal ? this.state : this.state.output;
+
+		return (this.match != null) ? this.match.data : null;
+	}
+
+	/**
+	 * Method that returns the word matched by the last character fed to the
+	 * matcher, or null if none was matched.
+	 *
+	 * @return String matched word, or null
+	 */
+
+	public String getMatchedWord() {
+		return (this.match != null) ? this.match.word : null;
+	}
+
+	/**
+	 * Method that returns the longest suffix of the stream that is still the
+	 * start of some word in the matcher.
+	 *
+	 * @return String longest live suffix of the stream
+	 */
+
+	public String getCurrentPrefix() {
+		char[] chars = new char[this.state.depth];
+
+		for (Node<T> node = this.state; node != root; node = node.parent) {
+			chars[node.depth - 1] = node.character;
+		}
+
+		return new String(chars);
+	}
+
+	/**
+	 * Method that forgets the stream read so far, so matching starts again from
+	 * the next character.
+	 */
+
+	public void reset() {
+		this.state = root;
+		this.match = null;
+	}
+
+	/**
+	 * Method to remove every word from the matcher.
+	 */
+
+	public void clear() {
+		this.root = new Node<T>(' ', null);
+		this.root.fail = this.root;
+		this.count = 0;
+		this.reset();
+	}
+
+	/**
+	 * Method that returns the number of words in the matcher.
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return this.count; // return count
+	}
+
+	/**
+	 * Method that determines if the matcher is empty or not.
+	 *
+	 * @return true if empty, else false
+	 */
+
+	public boolean isEmpty() {
+		return (this.count == 0); // return true if no words, else false
+	}
+
+	/**
+	 * Helper method that sets the failure and output links of a new node, then
+	 * moves to it any node whose longest suffix in the trie it has become.
+	 *
+	 * @param node Node<T> newly created node
+	 */
+
+	private void link(Node<T> node) {
+
+		// find the longest proper suffix of the node that is in the trie,
+		// starting from the parent's failure link
+
+		Node<T> fail = root;
+
+		if (node.parent != root) {
+			Node<T> current = node.parent.fail;
+			while (current != root && current.children.get(node.character) == null) {
+				current = current.fail;
+			}
+			Node<T> child = current.children.get(node.character);
+			if (child != null && child != node) {
+				fail = child;
+			}
+		}
+
+		node.fail = fail;
+		node.output = fail.terminal ? fail : fail.output;
+
+		// any node that used to fail to the same place and ends with this
+		// node's characters must now fail to this node instead
+
+		ArrayUnorderedList<Node<T>> moved = new ArrayUnorderedList<Node<T>>(4);
+		Iterator<Node<T>> it = fail.failChildren.iterator();
+
+		while (it.hasNext()) {
+			Node<T> other = it.next();
+			if (other.depth > node.depth && endsWith(other, node)) {
+				moved.addToRear(other);
+			}
+		}
+
+		it = moved.iterator();
+
+		while (it.hasNext()) {
+			Node<T> other = it.next();
+			fail.failChildren.remove(other);
+			other.fail = node;
+			node.failChildren.addToRear(other);
+		}
+
+		fail.failChildren.addToRear(node);
+	}
+
+	/**
+	 * Helper method that detaches a node about to be removed from the failure
+	 * tree, handing the nodes that failed to it over to its own failure link.
+	 *
+	 * @param node Node<T> node being removed
+	 */
+
+	private void unlink(Node<T> node) {
+		Node<T> fail = node.fail;
+		fail.failChildren.remove(node);
+
+		// the node holds no word, so the output links of the nodes
+		// handed over stay the same
+
+		Iterator<Node<T>> it = node.failChildren.iterator();
+
+		while (it.hasNext()) {
+			Node<T> other = it.next();
+			other.fail = fail;
+			fail.failChildren.addToRear(other);
+		}
+
+		// if the stream currently ends at this node, fall back to the
+		// next longest suffix
+
+		if (this.state == node) {
+			this.state = fail;
+		}
+	}
+
+	/**
+	 * Helper method that recomputes the output links of every node below the given
+	 * node in the failure tree, stopping at nodes that are words themselves.
+	 *
+	 * @param node Node<T> node whose word status changed
+	 */
+
+	private void refreshOutputs(Node<T> node) {
+		Node<T> output = node.terminal ? node : node.output;
+		Iterator<Node<T>> it = node.failChildren.iterator();
+
+		while (it.hasNext()) {
+			Node<T> other = it.next();
+			other.output = output;
+			if (!other.terminal) {
+				refreshOutputs(other);
+			}
+		}
+	}
+
+	/**
+	 * Helper method that determines if the characters on the path to one node end
+	 * with the characters on the path to another.
+	 *
+	 * @param node   Node<T> longer node
+	 * @param suffix Node<T> shorter node
+	 * @return boolean true if node ends with suffix, else false
+	 */
+
+	private boolean endsWith(Node<T> node, Node<T> suffix) {
+		while (suffix != root) {
+			if (node.character != suffix.character) {
+				return false;
+			}
+			node = node.parent;
+			suffix = suffix.parent;
+		}
+		return true;
+	}
+
+	/**
+	 * Helper method that returns the node at the end of the given word, or null if
+	 * there is none.
+	 *
+	 * @param word String to look up
+	 * @return Node<T> end node, or null
+	 */
+
+	private Node<T> findNode(String word) {
+		Node<T> current = root;
+
+		for (int i = 0; i < word.length() && current != null; i++) {
+			current = current.children.get(word.charAt(i));
+		}
+
+		return current;
+	}
+
+	/**
+	 * Helper method that throws an exception if the word is empty or uses a
+	 * character above 255.
+	 *
+	 * @param word String to check
+	 * @throws InvalidStringException throw exception if invalid word entered
+	 */
+
+	private void validate(String word) throws InvalidStringException {
+		if (word.isEmpty()) {
+			throw new InvalidStringException(word);
+		}
+
+		for (int i = 0; i < word.length(); i++) {
+			if (word.charAt(i) > 255) {
+				throw new InvalidStringException(word);
+			}
+		}
+	}
+
+	/**
+	 * A node of the matcher's trie.
+	 */
+
+	private static class Node<T> {
+
+		private char character; // character stored in node
+
+		private Node<T> parent; // reference to parent node
+
+		private int depth; // number of characters on the path to this node
+
+		private SmartArray<Node<T>> children; // children, indexed by character
+
+		private int childCount; // number of children
+
+		private Node<T> fail; // longest proper suffix in the trie
+
+		private ArrayUnorderedList<Node<T>> failChildren; // nodes failing to this one
+
+		private Node<T> output; // longest proper suffix that is a word, or null
+
+		private boolean terminal; // true if a word ends at this node
+
+		private String word; // word ending at this node, if terminal
+
+		private T data; // data of the word ending at this node
+
+		private Node(char character, Node<T> parent) {
+			this.character = character;
+			this.parent = parent;
+			this.depth = (parent == null) ? 0 : parent.depth + 1;
+			this.children = new SmartArray<Node<T>>();
+			this.childCount = 0;
+			this.failChildren = new ArrayUnorderedList<Node<T>>(4);
+			this.output = null;
+			this.terminal = false;
+		}
+	}
+}
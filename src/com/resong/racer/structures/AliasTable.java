@@ -0,0 +1,148 @@
+package com.resong.racer.structures;
+
+/**
+ * AliasTable class samples indices from a fixed discrete distribution in
+ * constant time, using Vose's alias method. Each of the n columns of the table
+ * holds a probability and an alias: a sample picks a column uniformly, then keeps
+ * the column's own index with that probability or takes its alias otherwise.
+ * Building the table takes linear time, and the table can't be changed once
+ * built, so it can be shared between threads.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Random;
+
+public class AliasTable {
+
+	//////////// Attributes /////////////
+
+	private double[] probability; // chance of keeping each column's own index
+
+	private int[] alias; // index taken when a column's own index isn't kept
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that builds a table where index i is sampled with probability
+	 * weights[i] divided by the sum of the weights. Throws an
+	 * IllegalArgumentException if there are no weights, any weight is negative or
+	 * not a number, or they sum to 0.
+	 *
+	 * @param weights double array of non-negative weights
+	 */
+
+	public AliasTable(double[] weights) {
+		int n = weights.length;
+		double sum = 0;
+
+		for (int i = 0; i < n; i++) {
+			if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+				throw new IllegalArgumentException("Invalid weight: " + weights[i]);
+			}
+			sum += weights[i];
+		}
+
+		if (n == 0 || sum <= 0) {
+			throw new IllegalArgumentException("Weights must have a positive sum");
+		}
+
+		this.probability = new double[n];
+		this.alias = new int[n];
+
+		// scale the weights so they average 1, and sort the columns into
+		// those below average (small) and those at or above it (large)
+
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0;
+		int largeCount = 0;
+
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+
+		// fill each small column up to 1 with part of a large column,
+		// which becomes its alias
+
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+
+			probability[less] = scaled[less];
+			alias[less] = more;
+
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+
+		// whatever is left is full, up to rounding error
+
+		while (largeCount > 0) {
+			probability[large[--largeCount]] = 1;
+		}
+		while (smallCount > 0) {
+			probability[small[--smallCount]] = 1;
+		}
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that samples an index from the distribution in constant time.
+	 *
+	 * @param random Random source of random numbers
+	 * @return int sampled index
+	 */
+
+	public int sample(Random random) {
+		int column = random.nextInt(probability.length);
+		return (random.nextDouble() < probability[column]) ? column : alias[column];
+	}
+
+	/**
+	 * Method that returns the number of indices in the distribution.
+	 *
+	 * @return int number of indices
+	 */
+
+	public int size() {
+		return probability.length; // return number of columns
+	}
+
+	/**
+	 * Method that returns the probability of sampling the given index, worked out
+	 * from the table.
+	 *
+	 * @param index int index in the distribution
+	 * @return double probability of sampling it
+	 */
+
+	public double probability(int index) {
+		if (index < 0 || index >= probability.length) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + probability.length);
+		}
+
+		// the index is kept from its own column, and taken as the
+		// alias of any column that doesn't keep its own
+
+		double total = probability[index];
+		for (int i = 0; i < alias.length; i++) {
+			if (alias[i] == index && probability[i] < 1) {
+				total += 1 - probability[i];
+			}
+		}
+		return total / probability.length;
+	}
+}
@@ -28,7 +28,7 @@ public class ArrayIndexedList<T> extends ArrayUnorderedList<T> implements Indexe
 	}
 
 	public int indexOf(T element) {
-		for (int i = 0; i < this.list.length; i++)
+		for (int i = 0; i < this.rear; i++)
 			if (this.list[i].equals(element))
 				return i;
 
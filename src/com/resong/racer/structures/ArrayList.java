@@ -177,13 +177,12 @@ public class ArrayList<T> implements ListADT<T>, Iterable<T> {
 
 	/******************************************************************
 	 * Creates a new array to store the contents of the list with twice the capacity
-	 * of the old one.
+	 * of the old one, copying the elements across in one bulk copy.
 	 ******************************************************************/
 	protected void expandCapacity() {
 		T[] larger = (T[]) (new Object[list.length * 2]);
 
-		for (int scan = 0; scan < list.length; scan++)
-			larger[scan] = list[scan];
+		System.arraycopy(list, 0, larger, 0, list.length);
 
 		list = larger;
 	}
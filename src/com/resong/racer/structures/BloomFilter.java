@@ -0,0 +1,243 @@
+package com.resong.racer.structures;
+
+/**
+ * BloomFilter class is a compact, probabilistic set of strings. Each string sets
+ * k bits of a bit array, picked by hashing it, and a string is reported as
+ * possibly present only if all k of its bits are set. A string that was added is
+ * always reported, while one that wasn't is reported by mistake with a small
+ * false positive rate chosen when the filter is built. Strings can't be removed.
+ *
+ * The bit array and number of bits per string are sized from the number of
+ * strings expected and the false positive rate wanted, which at 1% works out to
+ * under 10 bits per string. A lookup hashes the string once and derives all k bit
+ * positions from that one hash, so it costs about as much as one pass over the
+ * string's characters.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+public class BloomFilter {
+
+	//////////// Attributes /////////////
+
+	// Starting state and multiplier of the 64-bit FNV-1a string hash
+	protected static final long HASH_START = 0xcbf29ce484222325L;
+	private static final long HASH_PRIME = 0x100000001b3L;
+
+	// Largest number of bits, so a bit position can be picked with a 32-bit hash
+	private static final long MAX_BITS = 1L << 32;
+
+	private long[] bits; // bit array, 64 bits to a long
+
+	private long bitCount; // number of bits in use
+
+	private int hashCount; // number of bits set by each string
+
+	private int count; // number of strings added that set a new bit
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty filter sized to hold the expected
+	 * number of strings with the given false positive rate. Throws an
+	 * IllegalArgumentException if the rate isn't between 0 and 1.
+	 *
+	 * @param expected          int number of strings expected to be added
+	 * @param falsePositiveRate double chance of reporting a string not added, such
+	 *                          as 0.01
+	 */
+
+	public BloomFilter(int expected, double falsePositiveRate) {
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+		}
+
+		// the best size is -n ln p / (ln 2)^2 bits, with (m / n) ln 2 hashes
+
+		double n = Math.max(expected, 1);
+		double ln2 = Math.log(2);
+
+		this.bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2)));
+		this.bitCount = Math.min(bitCount, MAX_BITS);
+		this.hashCount = Math.max(1, (int) Math.round(bitCount / n * ln2));
+		this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+		this.count = 0;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method to add a string to the filter.
+	 *
+	 * @param word CharSequence to be added
+	 */
+
+	public void add(CharSequence word) {
+		addHash(hash(word)); // set the bits of the string's hash
+	}
+
+	/**
+	 * Method that determines if a string might have been added. Returns false only
+	 * if it definitely wasn't.
+	 *
+	 * @param word CharSequence to look for
+	 * @return boolean true if the string might have been added, false if it wasn't
+	 */
+
+	public boolean mightContain(CharSequence word) {
+		return containsHash(hash(word)); // check the bits of the string's hash
+	}
+
+	/**
+	 * Method that returns the number of distinct strings added. A string is only
+	 * counted if it set at least one bit that wasn't set, so adding a string
+	 * again doesn't count it twice; the odd new string whose bits were all set
+	 * already isn't counted either.
+	 *
+	 * @return int number of distinct strings added
+	 */
+
+	public int size() {
+		return this.count; // return count
+	}
+
+	/**
+	 * Method that returns the number of bits in the filter.
+	 *
+	 * @return long number of bits
+	 */
+
+	public long bitSize() {
+		return this.bitCount; // return bitCount
+	}
+
+	/**
+	 * Method that returns the number of bits set by each string.
+	 *
+	 * @return int number of hashes
+	 */
+
+	public int hashCount() {
+		return this.hashCount; // return hashCount
+	}
+
+	/**
+	 * Method that estimates the current false positive rate from the number of
+	 * distinct strings added so far.
+	 *
+	 * @return double estimated chance of reporting a string not added
+	 */
+
+	public double expectedFalsePositiveRate() {
+		return Math.pow(1 - Math.exp(-(double) hashCount * count / bitCount), hashCount);
+	}
+
+	/**
+	 * Helper method that returns the hash state after feeding it one more
+	 * character, so the hashes of every prefix of a string can be found in one
+	 * pass.
+	 *
+	 * @param state long hash state of the characters so far
+	 * @param c     char next character
+	 * @return long hash state including c
+	 */
+
+	protected static long step(long state, char c) {
+		return (state ^ c) * HASH_PRIME;
+	}
+
+	/**
+	 * Helper method that returns the hash state of a whole string.
+	 *
+	 * @param word CharSequence to hash
+	 * @return long hash state of its characters
+	 */
+
+	protected static long hash(CharSequence word) {
+		long state = HASH_START;
+
+		for (int i = 0; i < word.length(); i++) {
+			state = step(state, word.charAt(i));
+		}
+		return state;
+	}
+
+	/**
+	 * Helper method that sets the bits of a hash state and counts the string if
+	 * any of them wasn't set before.
+	 *
+	 * @param state long hash state of the string
+	 */
+
+	protected void addHash(long state) {
+		long h = mix(state);
+		int h1 = (int) h;
+		int h2 = (int) (h >>> 32) | 1;
+		long changed = 0;
+
+		for (int i = 0; i < hashCount; i++) {
+			long bit = position(h1 + i * h2);
+			long word = bits[(int) (bit >>> 6)];
+			bits[(int) (bit >>> 6)] = word | (1L << bit);
+			changed |= ~word & (1L << bit);
+		}
+
+		if (changed != 0) {
+			count++;
+		}
+	}
+
+	/**
+	 * Helper method that determines if all the bits of a hash state are set.
+	 *
+	 * @param state long hash state of the string
+	 * @return boolean true if every bit is set, else false
+	 */
+
+	protected boolean containsHash(long state) {
+		long h = mix(state);
+		int h1 = (int) h;
+		int h2 = (int) (h >>> 32) | 1;
+
+		// the k bit positions come from h1 + i * h2, so one hash gives them all
+
+		for (int i = 0; i < hashCount; i++) {
+			long bit = position(h1 + i * h2);
+			if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Helper method that maps a 32-bit hash onto a bit position. Multiplying by the
+	 * number of bits and keeping the high half spreads the hashes evenly without the
+	 * cost of a division.
+	 *
+	 * @param hash int hash, read as unsigned
+	 * @return long bit position, from 0 up to bitCount
+	 */
+
+	private long position(int hash) {
+		return ((hash & 0xFFFFFFFFL) * bitCount) >>> 32;
+	}
+
+	/**
+	 * Helper method that scrambles a hash state so every bit of it depends on every
+	 * character, using the finalizer of MurmurHash3.
+	 *
+	 * @param state long hash state
+	 * @return long mixed hash
+	 */
+
+	private static long mix(long state) {
+		state ^= state >>> 33;
+		state *= 0xff51afd7ed558ccdL;
+		state ^= state >>> 33;
+		state *= 0xc4ceb9fe1a85ec53L;
+		state ^= state >>> 33;
+		return state;
+	}
+}
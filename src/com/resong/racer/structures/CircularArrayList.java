@@ -0,0 +1,412 @@
+package com.resong.racer.structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.resong.racer.exceptions.ElementNotFoundException;
+import com.resong.racer.exceptions.EmptyCollectionException;
+
+/**
+ * CircularArrayList represents a circular array implementation of an indexed,
+ * unordered list. The front of the list can sit anywhere in the array and the
+ * elements wrap around its end, so adding or removing at either end of the list
+ * never shifts the other elements. This makes it suitable as a FIFO queue or a
+ * double-ended queue. Elements in the middle are reached by mapping the list
+ * index onto the array, and inserting or removing there only shifts the elements
+ * on the shorter side.
+ *
+ * @author Rebecca Song
+ */
+public class CircularArrayList<T> implements IndexedListADT<T>, UnorderedListADT<T> {
+
+	private final static int DEFAULT_CAPACITY = 100;
+	private final static int NOT_FOUND = -1;
+
+	// Array index of the first element
+	private int front;
+
+	// Number of elements in the list
+	private int count;
+
+	// Stores the elements of the list
+	private T[] list;
+
+	/**
+	 * Creates an empty list using the default capacity.
+	 */
+	public CircularArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list using the specified capacity.
+	 *
+	 * @param initialCapacity the integer initial size of the list
+	 */
+	@SuppressWarnings("unchecked")
+	public CircularArrayList(int initialCapacity) {
+		front = 0;
+		count = 0;
+		list = (T[]) (new Object[Math.max(initialCapacity, 1)]);
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of the list
+	 */
+	public void addToFront(T element) {
+		if (count == list.length) {
+			expandCapacity();
+		}
+
+		front = (front == 0) ? list.length - 1 : front - 1;
+		list[front] = element;
+		count++;
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	public void addToRear(T element) {
+		if (count == list.length) {
+			expandCapacity();
+		}
+
+		list[slot(count)] = element;
+		count++;
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target element. Throws an
+	 * ElementNotFoundException if the target is not found.
+	 *
+	 * @param element the element to be added after the target element
+	 * @param target  the target that the element is to be added after
+	 */
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new ElementNotFoundException("list");
+		}
+
+		add(index + 1, element);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index, shifting the elements
+	 * on whichever side of the index is shorter.
+	 *
+	 * @param index   the index at which the element is inserted
+	 * @param element the element to be inserted
+	 */
+	public void add(int index, T element) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+
+		if (count == list.length) {
+			expandCapacity();
+		}
+
+		if (index < count / 2) {
+
+			// shift the elements before the index one place towards the front
+			front = (front == 0) ? list.length - 1 : front - 1;
+			for (int scan = 0; scan < index; scan++) {
+				list[slot(scan)] = list[slot(scan + 1)];
+			}
+		} else {
+
+			// shift the elements from the index on one place towards the rear
+			for (int scan = count; scan > index; scan--) {
+				list[slot(scan)] = list[slot(scan - 1)];
+			}
+		}
+
+		list[slot(index)] = element;
+		count++;
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index of the element to be replaced
+	 * @param element the new element
+	 */
+	public void set(int index, T element) {
+		checkIndex(index);
+		list[slot(index)] = element;
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index of the element
+	 * @return the element at the index
+	 */
+	public T get(int index) {
+		checkIndex(index);
+		return list[slot(index)];
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element, or -1 if
+	 * it is not in the list.
+	 *
+	 * @param element the element being sought
+	 * @return the index of the element, or -1
+	 */
+	public int indexOf(T element) {
+		for (int scan = 0; scan < count; scan++) {
+			if (element.equals(list[slot(scan)])) {
+				return scan;
+			}
+		}
+
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Removes and returns the first element in the list.
+	 *
+	 * @return the first element in the list
+	 */
+	public T removeFirst() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		T result = list[front];
+		list[front] = null;
+		front = (front + 1 == list.length) ? 0 : front + 1;
+		count--;
+
+		return result;
+	}
+
+	/**
+	 * Removes and returns the last element in the list.
+	 *
+	 * @return the last element in the list
+	 */
+	public T removeLast() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		int last = slot(count - 1);
+		T result = list[last];
+		list[last] = null;
+		count--;
+
+		return result;
+	}
+
+	/**
+	 * Removes and returns the specified element. Throws an ElementNotFoundException
+	 * if it is not in the list.
+	 *
+	 * @param element the element to be removed
+	 * @return the removed element
+	 */
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new ElementNotFoundException("list");
+		}
+
+		return remove(index);
+	}
+
+	/**
+	 * Removes and returns the element at the specified index, shifting the elements
+	 * on whichever side of the index is shorter.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the removed element
+	 */
+	public T remove(int index) {
+		checkIndex(index);
+
+		T result = list[slot(index)];
+
+		if (index < count / 2) {
+
+			// shift the elements before the index one place towards the rear
+			for (int scan = index; scan > 0; scan--) {
+				list[slot(scan)] = list[slot(scan - 1)];
+			}
+			list[front] = null;
+			front = (front + 1 == list.length) ? 0 : front + 1;
+		} else {
+
+			// shift the elements after the index one place towards the front
+			for (int scan = index; scan < count - 1; scan++) {
+				list[slot(scan)] = list[slot(scan + 1)];
+			}
+			list[slot(count - 1)] = null;
+		}
+
+		count--;
+		return result;
+	}
+
+	/**
+	 * Returns a reference to the element at the front of the list. Throws an
+	 * EmptyCollectionException if the list is empty.
+	 *
+	 * @return the first element in the list
+	 */
+	public T first() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return list[front];
+	}
+
+	/**
+	 * Returns a reference to the element at the rear of the list. Throws an
+	 * EmptyCollectionException if the list is empty.
+	 *
+	 * @return the last element in the list
+	 */
+	public T last() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return list[slot(count - 1)];
+	}
+
+	/**
+	 * Returns true if this list contains the specified element.
+	 *
+	 * @param target the element being sought
+	 * @return true if the list contains the element
+	 */
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	/**
+	 * Returns true if this list is empty and false otherwise.
+	 *
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return (count == 0);
+	}
+
+	/**
+	 * Returns the number of elements currently in this list.
+	 *
+	 * @return the number of elements in the list
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns an iterator for the elements currently in this list, from front to
+	 * rear.
+	 *
+	 * @return an iterator over the elements of the list
+	 */
+	public Iterator<T> iterator() {
+		return new CircularIterator();
+	}
+
+	/**
+	 * Returns a string representation of this list.
+	 *
+	 * @return a string representation of the list
+	 */
+	public String toString() {
+		String result = "";
+
+		for (int scan = 0; scan < count; scan++) {
+			result = result + list[slot(scan)].toString() + "\n";
+		}
+
+		return result;
+	}
+
+	/**
+	 * Maps a list index onto its array index.
+	 *
+	 * @param index the list index
+	 * @return the array index holding that element
+	 */
+	private int slot(int index) {
+		int slot = front + index;
+		return (slot >= list.length) ? slot - list.length : slot;
+	}
+
+	/**
+	 * Throws an IndexOutOfBoundsException if the index is not in the list.
+	 *
+	 * @param index the index to check
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+	}
+
+	/**
+	 * Creates a new array with twice the capacity of the old one, copying the
+	 * elements across in two bulk copies so the front ends up at index 0.
+	 */
+	@SuppressWarnings("unchecked")
+	private void expandCapacity() {
+		T[] larger = (T[]) (new Object[list.length * 2]);
+		int firstPart = Math.min(count, list.length - front);
+
+		System.arraycopy(list, front, larger, 0, firstPart);
+		System.arraycopy(list, 0, larger, firstPart, count - firstPart);
+
+		front = 0;
+		list = larger;
+	}
+
+	/**
+	 * Iterates over the elements of the list from front to rear.
+	 */
+	private class CircularIterator implements Iterator<T> {
+
+		// List index of the next element to return
+		private int current = 0;
+
+		public boolean hasNext() {
+			return (current < count);
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			current++;
+			return list[slot(current - 1)];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package com.resong.racer.structures;
+
+/**
+ * CompactWordList class stores a large list of words in a single byte array
+ * (one Latin-1 byte per character) with an int array of offsets marking where
+ * each word starts. Compared with a list of Strings, this saves the object
+ * header, length field and padding of every String and every char array, and a
+ * whole dictionary can be built from one bulk read. Words are handed out by index
+ * either as Strings, created on demand, or as CharSequence views that read
+ * straight from the shared array.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.resong.racer.exceptions.InvalidStringException;
+
+public class CompactWordList implements Iterable<String> {
+
+	//////////// Attributes /////////////
+
+	// Default number of words and characters the list can hold before growing
+	private static final int DEFAULT_WORDS = 100;
+	private static final int DEFAULT_BYTES = 1000;
+
+	private byte[] arena; // characters of every word, one after another
+
+	private int[] offsets; // start of each word in arena, plus the end of the last
+
+	private int size; // number of words in the list
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty list with the default capacity
+	 */
+
+	public CompactWordList() {
+		this(DEFAULT_WORDS, DEFAULT_BYTES);
+	}
+
+	/**
+	 * Constructor that initializes an empty list able to hold the given number of
+	 * words and characters before growing
+	 *
+	 * @param words int initial number of words
+	 * @param bytes int initial number of characters
+	 */
+
+	public CompactWordList(int words, int bytes) {
+		this.arena = new byte[Math.max(bytes, 1)];
+		this.offsets = new int[Math.max(words, 1) + 1];
+		this.size = 0;
+	}
+
+	/**
+	 * Constructor that wraps arrays already filled by a loader. Word i is stored in
+	 * arena from offsets[i] up to (not including) offsets[i + 1]. The arrays are
+	 * used as they are, not copied.
+	 *
+	 * @param arena   byte array of the characters of every word
+	 * @param offsets int array of word start offsets, with size + 1 entries in use
+	 * @param size    int number of words
+	 */
+
+	public CompactWordList(byte[] arena, int[] offsets, int size) {
+		this.arena = arena;
+		this.offsets = offsets;
+		this.size = size;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method to add a word to the end of the list. Throws an exception if the word
+	 * is empty or uses a character above 255.
+	 *
+	 * @param word CharSequence to be added
+	 * @throws InvalidStringException throw exception if invalid word entered
+	 */
+
+	public void add(CharSequence word) throws InvalidStringException {
+		int length = word.length();
+
+		if (length == 0) {
+			throw new InvalidStringException(word.toString());
+		}
+
+		// grow the arrays if the word doesn't fit
+
+		int start = offsets[size];
+
+		if (start + length > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + length));
+		}
+		if (size + 2 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+
+		// copy the characters into the arena
+
+		for (int i = 0; i < length; i++) {
+			char c = word.charAt(i);
+			if (c > 255) {
+				throw new InvalidStringException(word.toString());
+			}
+			arena[start + i] = (byte) c;
+		}
+
+		offsets[++size] = start + length;
+	}
+
+	/**
+	 * Method that returns the word at the given index as a new String.
+	 *
+	 * @param index int index of the word
+	 * @return String word at the index
+	 */
+
+	public String get(int index) {
+		checkIndex(index);
+		return new String(arena, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Method that returns a view of the word at the given index, which reads its
+	 * characters from the list without copying them.
+	 *
+	 * @param index int index of the word
+	 * @return CharSequence view of the word
+	 */
+
+	public CharSequence view(int index) {
+		checkIndex(index);
+		return new WordView(offsets[index], offsets[index + 1]);
+	}
+
+	/**
+	 * Method that returns the length of the word at the given index.
+	 *
+	 * @param index int index of the word
+	 * @return int length of the word
+	 */
+
+	public int length(int index) {
+		checkIndex(index);
+		return offsets[index + 1] - offsets[index];
+	}
+
+	/**
+	 * Method that returns a character of the word at the given index.
+	 *
+	 * @param index    int index of the word
+	 * @param position int position of the character in the word
+	 * @return char character at that position
+	 */
+
+	public char charAt(int index, int position) {
+		if (position < 0 || position >= length(index)) {
+			throw new IndexOutOfBoundsException("Position: " + position);
+		}
+		return (char) (arena[offsets[index] + position] & 0xFF);
+	}
+
+	/**
+	 * Method that returns the number of words in the list.
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return this.size; // return size
+	}
+
+	/**
+	 * Method that determines if the list is empty or not.
+	 *
+	 * @return true if empty, else false
+	 */
+
+	public boolean isEmpty() {
+		return (this.size == 0); // return true if no words, else false
+	}
+
+	/**
+	 * Method that returns the number of bytes used by the characters of all the
+	 * words.
+	 *
+	 * @return int number of characters stored
+	 */
+
+	public int byteSize() {
+		return offsets[size]; // return end of the last word
+	}
+
+	/**
+	 * Method that shrinks the arrays to fit the words stored, freeing any room left
+	 * over from growing or loading.
+	 */
+
+	public void trimToSize() {
+		if (arena.length != offsets[size]) {
+			arena = Arrays.copyOf(arena, offsets[size]);
+		}
+		if (offsets.length != size + 1) {
+			offsets = Arrays.copyOf(offsets, size + 1);
+		}
+	}
+
+	/**
+	 * Method that returns an iterator over the words in the list, in order.
+	 *
+	 * @return Iterator<String> iterator of words
+	 */
+
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+
+			private int current = 0; // index of the next word
+
+			public boolean hasNext() {
+				return current < size;
+			}
+
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(current++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Helper method that throws an IndexOutOfBoundsException if the index is not
+	 * in the list.
+	 *
+	 * @param index int index to check
+	 */
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * A read-only view of part of the arena. Views read the arena they were created
+	 * from, so they stay valid while the list grows.
+	 */
+
+	private class WordView implements CharSequence {
+
+		private byte[] bytes; // arena the view reads from
+
+		private int start; // offset of the first character
+
+		private int end; // offset just past the last character
+
+		private WordView(int start, int end) {
+			this.bytes = arena;
+			this.start = start;
+			this.end = end;
+		}
+
+		public int length() {
+			return end - start;
+		}
+
+		public char charAt(int index) {
+			if (index < 0 || index >= end - start) {
+				throw new IndexOutOfBoundsException("Index: " + index);
+			}
+			return (char) (bytes[start + index] & 0xFF);
+		}
+
+		public CharSequence subSequence(int from, int to) {
+			if (from < 0 || to > end - start || from > to) {
+				throw new IndexOutOfBoundsException("Range: " + from + " to " + to);
+			}
+			WordView view = new WordView(start + from, start + to);
+			view.bytes = this.bytes;
+			return view;
+		}
+
+		public String toString() {
+			return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+		}
+	}
+}
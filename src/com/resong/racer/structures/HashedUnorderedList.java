@@ -0,0 +1,433 @@
+package com.resong.racer.structures;
+
+import java.util.Iterator;
+
+import com.resong.racer.exceptions.ElementNotFoundException;
+import com.resong.racer.exceptions.EmptyCollectionException;
+
+/**
+ * HashedUnorderedList represents an array implementation of an unordered list
+ * that also keeps a hash index from each element to its array index. The index
+ * uses open addressing with linear probing, so contains, indexOf and
+ * remove(element) take expected constant time instead of scanning the list.
+ *
+ * Removing an element moves the last element into its place rather than
+ * shifting everything after it, so removals do not keep the order of the
+ * remaining elements. Adding to the rear is constant time; adding to the front or
+ * after a target shifts the elements and rebuilds the index, as in
+ * ArrayUnorderedList. Elements are compared with equals and hashCode, so objects
+ * that don't override them are indexed by identity.
+ *
+ * @author Rebecca Song
+ */
+public class HashedUnorderedList<T> implements UnorderedListADT<T> {
+
+	private final static int DEFAULT_CAPACITY = 100;
+	private final static int NOT_FOUND = -1;
+
+	// Marks an empty entry in the hash index
+	private final static int EMPTY = 0;
+
+	// Number of elements in the list
+	private int count;
+
+	// Stores the elements of the list
+	private T[] list;
+
+	// Hash index holding array index + 1 of each element, or EMPTY
+	private int[] table;
+
+	/**
+	 * Creates an empty list using the default capacity.
+	 */
+	public HashedUnorderedList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list using the specified capacity.
+	 *
+	 * @param initialCapacity the integer initial size of the list
+	 */
+	@SuppressWarnings("unchecked")
+	public HashedUnorderedList(int initialCapacity) {
+		count = 0;
+		list = (T[]) (new Object[Math.max(initialCapacity, 1)]);
+		table = new int[tableSizeFor(list.length)];
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	public void addToRear(T element) {
+		if (count == list.length) {
+			expandCapacity();
+		}
+
+		list[count] = element;
+		insertEntry(count);
+		count++;
+	}
+
+	/**
+	 * Adds the specified element to the front of this list. The other elements are
+	 * shifted and the index rebuilt, so this takes linear time.
+	 *
+	 * @param element the element to be added to the front of the list
+	 */
+	public void addToFront(T element) {
+		insertAt(0, element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target element. Throws an
+	 * ElementNotFoundException if the target is not found. The elements after the
+	 * target are shifted and the index rebuilt, so this takes linear time.
+	 *
+	 * @param element the element to be added after the target element
+	 * @param target  the target that the element is to be added after
+	 */
+	public void addAfter(T element, T target) {
+		int index = find(target);
+
+		if (index == NOT_FOUND) {
+			throw new ElementNotFoundException("list");
+		}
+
+		insertAt(index + 1, element);
+	}
+
+	/**
+	 * Removes and returns the first element in the list. The last element takes its
+	 * place.
+	 *
+	 * @return the first element in the list
+	 */
+	public T removeFirst() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return removeAt(0);
+	}
+
+	/**
+	 * Removes and returns the last element in the list.
+	 *
+	 * @return the last element in the list
+	 */
+	public T removeLast() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return removeAt(count - 1);
+	}
+
+	/**
+	 * Removes and returns the specified element, moving the last element into its
+	 * place. Throws an ElementNotFoundException if it is not in the list.
+	 *
+	 * @param element the element to be removed
+	 * @return the removed element
+	 */
+	public T remove(T element) {
+		int index = find(element);
+
+		if (index == NOT_FOUND) {
+			throw new ElementNotFoundException("list");
+		}
+
+		return removeAt(index);
+	}
+
+	/**
+	 * Returns a reference to the element at the front of the list. Throws an
+	 * EmptyCollectionException if the list is empty.
+	 *
+	 * @return the first element in the list
+	 */
+	public T first() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return list[0];
+	}
+
+	/**
+	 * Returns a reference to the element at the rear of the list. Throws an
+	 * EmptyCollectionException if the list is empty.
+	 *
+	 * @return the last element in the list
+	 */
+	public T last() throws EmptyCollectionException {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("list");
+		}
+
+		return list[count - 1];
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index of the element
+	 * @return the element at the index
+	 */
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+
+		return list[index];
+	}
+
+	/**
+	 * Returns the index of the specified element, or -1 if it is not in the list.
+	 * If the element is in the list more than once, any one of its indexes may be
+	 * returned.
+	 *
+	 * @param element the element being sought
+	 * @return the index of the element, or -1
+	 */
+	public int indexOf(T element) {
+		return find(element);
+	}
+
+	/**
+	 * Returns true if this list contains the specified element.
+	 *
+	 * @param target the element being sought
+	 * @return true if the list contains the element
+	 */
+	public boolean contains(T target) {
+		return (find(target) != NOT_FOUND);
+	}
+
+	/**
+	 * Returns true if this list is empty and false otherwise.
+	 *
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return (count == 0);
+	}
+
+	/**
+	 * Returns the number of elements currently in this list.
+	 *
+	 * @return the number of elements in the list
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns an iterator for the elements currently in this list.
+	 *
+	 * @return an iterator over the elements of the list
+	 */
+	@SuppressWarnings("unchecked")
+	public Iterator<T> iterator() {
+		return new ArrayIterator<T>(list, count);
+	}
+
+	/**
+	 * Returns a string representation of this list.
+	 *
+	 * @return a string representation of the list
+	 */
+	public String toString() {
+		String result = "";
+
+		for (int scan = 0; scan < count; scan++) {
+			result = result + list[scan].toString() + "\n";
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the array index of the specified element, or NOT_FOUND.
+	 *
+	 * @param target the element being sought
+	 * @return the index of the element, or NOT_FOUND
+	 */
+	private int find(T target) {
+		int mask = table.length - 1;
+
+		for (int i = hash(target) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+			if (target.equals(list[table[i] - 1])) {
+				return table[i] - 1;
+			}
+		}
+
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Removes and returns the element at the specified array index, moving the last
+	 * element into its place.
+	 *
+	 * @param index the array index of the element
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T result = list[index];
+		int last = count - 1;
+
+		deleteEntry(index);
+
+		// move the last element into the gap and repoint its entry
+		if (index != last) {
+			table[entryOf(last)] = index + 1;
+			list[index] = list[last];
+		}
+
+		list[last] = null;
+		count--;
+
+		return result;
+	}
+
+	/**
+	 * Inserts the element at the specified array index, shifting the elements from
+	 * that index on towards the rear and rebuilding the index.
+	 *
+	 * @param index   the array index at which to insert
+	 * @param element the element to insert
+	 */
+	private void insertAt(int index, T element) {
+		if (count == list.length) {
+			expandCapacity();
+		}
+
+		System.arraycopy(list, index, list, index + 1, count - index);
+		list[index] = element;
+		count++;
+
+		rebuildIndex();
+	}
+
+	/**
+	 * Adds an entry to the hash index for the element at the given array index.
+	 *
+	 * @param index the array index of the element
+	 */
+	private void insertEntry(int index) {
+		int mask = table.length - 1;
+		int i = hash(list[index]) & mask;
+
+		while (table[i] != EMPTY) {
+			i = (i + 1) & mask;
+		}
+
+		table[i] = index + 1;
+	}
+
+	/**
+	 * Returns the position in the hash index of the entry for the given array
+	 * index.
+	 *
+	 * @param index the array index of the element
+	 * @return the position of its entry in the table
+	 */
+	private int entryOf(int index) {
+		int mask = table.length - 1;
+		int i = hash(list[index]) & mask;
+
+		while (table[i] != index + 1) {
+			i = (i + 1) & mask;
+		}
+
+		return i;
+	}
+
+	/**
+	 * Removes the entry for the given array index from the hash index, shifting
+	 * later entries of the same probe run back so no lookups are cut short.
+	 *
+	 * @param index the array index of the element
+	 */
+	private void deleteEntry(int index) {
+		int mask = table.length - 1;
+		int gap = entryOf(index);
+		int i = gap;
+
+		table[gap] = EMPTY;
+
+		while (true) {
+			i = (i + 1) & mask;
+
+			if (table[i] == EMPTY) {
+				return;
+			}
+
+			// an entry can fill the gap if its home position is not
+			// between the gap and its current position
+			int home = hash(list[table[i] - 1]) & mask;
+
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				table[gap] = table[i];
+				table[i] = EMPTY;
+				gap = i;
+			}
+		}
+	}
+
+	/**
+	 * Clears the hash index and adds an entry for every element.
+	 */
+	private void rebuildIndex() {
+		table = new int[tableSizeFor(list.length)];
+
+		for (int scan = 0; scan < count; scan++) {
+			insertEntry(scan);
+		}
+	}
+
+	/**
+	 * Creates a new array with twice the capacity of the old one, and a hash index
+	 * to match.
+	 */
+	@SuppressWarnings("unchecked")
+	private void expandCapacity() {
+		T[] larger = (T[]) (new Object[list.length * 2]);
+		System.arraycopy(list, 0, larger, 0, count);
+		list = larger;
+
+		rebuildIndex();
+	}
+
+	/**
+	 * Returns the hash of an element, with the high bits mixed into the low bits
+	 * used to pick a table position.
+	 *
+	 * @param element the element to hash
+	 * @return the mixed hash code
+	 */
+	private static int hash(Object element) {
+		int h = element.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Returns the smallest power of two that is at least twice the capacity, so
+	 * the index is never more than half full.
+	 *
+	 * @param capacity the capacity of the list
+	 * @return the size of the hash index
+	 */
+	private static int tableSizeFor(int capacity) {
+		int size = 2;
+
+		while (size < capacity * 2) {
+			size <<= 1;
+		}
+
+		return size;
+	}
+}
@@ -0,0 +1,333 @@
+package com.resong.racer.structures;
+
+import java.util.HashMap;
+
+import com.resong.racer.exceptions.EmptyCollectionException;
+
+/**
+ * IndexedMinHeap is a priority queue of distinct elements, each with a key,
+ * that always has the element with the smallest key at its front. It is a
+ * binary heap kept in an array, with a map from each element to its place in
+ * the array, so an element can be removed or given a new key from anywhere in
+ * the heap, not only the front. Adding, removing and rekeying take logarithmic
+ * time, and looking at the front constant time.
+ *
+ * @author Rebecca Song
+ */
+public class IndexedMinHeap<T> {
+
+	private final static int DEFAULT_CAPACITY = 64;
+
+	// Elements of the heap and their keys, in heap order
+	private T[] elements;
+	private double[] keys;
+
+	// Number of elements in the heap
+	private int count;
+
+	// Place of each element in the arrays
+	private HashMap<T, Integer> index;
+
+	/**
+	 * Creates an empty heap using the default capacity.
+	 */
+	public IndexedMinHeap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty heap using the specified capacity.
+	 *
+	 * @param initialCapacity the integer initial size of the heap
+	 */
+	@SuppressWarnings("unchecked")
+	public IndexedMinHeap(int initialCapacity) {
+		elements = (T[]) (new Object[Math.max(initialCapacity, 1)]);
+		keys = new double[elements.length];
+		count = 0;
+		index = new HashMap<T, Integer>();
+	}
+
+	/**
+	 * Adds the specified element to this heap with the specified key, or gives it
+	 * the new key if it is already in the heap.
+	 *
+	 * @param element the element to be added
+	 * @param key     the double key of the element
+	 */
+	public void add(T element, double key) {
+		Integer i = index.get(element);
+
+		if (i != null) {
+			rekey(i, key);
+			return;
+		}
+
+		if (count == elements.length) {
+			expandCapacity();
+		}
+
+		elements[count] = element;
+		keys[count] = key;
+		index.put(element, count);
+		count++;
+		siftUp(count - 1);
+	}
+
+	/**
+	 * Removes the specified element from this heap, wherever it is.
+	 *
+	 * @param element the element to be removed
+	 * @return true if the element was in the heap, false otherwise
+	 */
+	public boolean remove(T element) {
+		Integer i = index.remove(element);
+
+		if (i == null) {
+			return false;
+		}
+
+		removeAt(i);
+		return true;
+	}
+
+	/**
+	 * Removes and returns the element with the smallest key.
+	 *
+	 * @return the element with the smallest key
+	 * @throws EmptyCollectionException if the heap is empty
+	 */
+	public T removeMin() {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("heap");
+		}
+
+		T result = elements[0];
+		index.remove(result);
+		removeAt(0);
+		return result;
+	}
+
+	/**
+	 * Returns the element with the smallest key, without removing it.
+	 *
+	 * @return the element with the smallest key
+	 * @throws EmptyCollectionException if the heap is empty
+	 */
+	public T findMin() {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("heap");
+		}
+
+		return elements[0];
+	}
+
+	/**
+	 * Returns the smallest key in this heap.
+	 *
+	 * @return the double smallest key
+	 * @throws EmptyCollectionException if the heap is empty
+	 */
+	public double findMinKey() {
+		if (isEmpty()) {
+			throw new EmptyCollectionException("heap");
+		}
+
+		return keys[0];
+	}
+
+	/**
+	 * Returns the key of the specified element.
+	 *
+	 * @param element the element to look for
+	 * @return the double key of the element, or NaN if it isn't in the heap
+	 */
+	public double getKey(T element) {
+		Integer i = index.get(element);
+		return (i == null) ? Double.NaN : keys[i];
+	}
+
+	/**
+	 * Returns true if this heap contains the specified element.
+	 *
+	 * @param element the element to look for
+	 * @return true if the element is in the heap, false otherwise
+	 */
+	public boolean contains(T element) {
+		return index.containsKey(element);
+	}
+
+	/**
+	 * Removes every element from this heap.
+	 */
+	public void clear() {
+		for (int i = 0; i < count; i++) {
+			elements[i] = null;
+		}
+		count = 0;
+		index.clear();
+	}
+
+	/**
+	 * Returns true if this heap is empty.
+	 *
+	 * @return true if the heap is empty, false otherwise
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this heap.
+	 *
+	 * @return the integer number of elements
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string showing the elements of this heap and their keys, in heap
+	 * order.
+	 *
+	 * @return a string representing the heap
+	 */
+	public String toString() {
+		StringBuilder result = new StringBuilder("[");
+
+		for (int i = 0; i < count; i++) {
+			result.append((i == 0) ? "" : ", ").append(elements[i]).append('=').append(keys[i]);
+		}
+		return result.append(']').toString();
+	}
+
+	/**
+	 * Removes the element at the specified place, once it is out of the index, by
+	 * moving the last element into its place and restoring the heap order.
+	 *
+	 * @param i the integer place of the element
+	 */
+	private void removeAt(int i) {
+		count--;
+
+		if (i != count) {
+			move(count, i);
+			elements[count] = null;
+
+			if (!siftUp(i)) {
+				siftDown(i);
+			}
+		} else {
+			elements[count] = null;
+		}
+	}
+
+	/**
+	 * Gives the element at the specified place a new key and restores the heap
+	 * order.
+	 *
+	 * @param i   the integer place of the element
+	 * @param key the double new key
+	 */
+	private void rekey(int i, double key) {
+		double old = keys[i];
+		keys[i] = key;
+
+		if (key < old) {
+			siftUp(i);
+		} else {
+			siftDown(i);
+		}
+	}
+
+	/**
+	 * Moves the element at the specified place up while its key is smaller than
+	 * its parent's.
+	 *
+	 * @param i the integer place of the element
+	 * @return true if the element moved, false otherwise
+	 */
+	private boolean siftUp(int i) {
+		T element = elements[i];
+		double key = keys[i];
+		int start = i;
+
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (keys[parent] <= key) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+
+		place(element, key, i);
+		return i != start;
+	}
+
+	/**
+	 * Moves the element at the specified place down while its key is larger than
+	 * one of its children's.
+	 *
+	 * @param i the integer place of the element
+	 */
+	private void siftDown(int i) {
+		T element = elements[i];
+		double key = keys[i];
+
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= count) {
+				break;
+			}
+			if (child + 1 < count && keys[child + 1] < keys[child]) {
+				child++;
+			}
+			if (key <= keys[child]) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+
+		place(element, key, i);
+	}
+
+	/**
+	 * Copies the element and key at one place to another, updating the index.
+	 *
+	 * @param from the integer place to copy from
+	 * @param to   the integer place to copy to
+	 */
+	private void move(int from, int to) {
+		place(elements[from], keys[from], to);
+	}
+
+	/**
+	 * Puts an element and its key at the specified place, updating the index.
+	 *
+	 * @param element the element
+	 * @param key     the double key of the element
+	 * @param i       the integer place to put it
+	 */
+	private void place(T element, double key, int i) {
+		elements[i] = element;
+		keys[i] = key;
+		index.put(element, i);
+	}
+
+	/**
+	 * Creates new arrays to store the contents of this heap with twice the
+	 * capacity of the old ones.
+	 */
+	@SuppressWarnings("unchecked")
+	private void expandCapacity() {
+		T[] larger = (T[]) (new Object[elements.length * 2]);
+		double[] largerKeys = new double[keys.length * 2];
+
+		System.arraycopy(elements, 0, larger, 0, count);
+		System.arraycopy(keys, 0, largerKeys, 0, count);
+		elements = larger;
+		keys = largerKeys;
+	}
+}
@@ -0,0 +1,216 @@
+package com.resong.racer.structures;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InputRingBuffer is a fixed-size queue of key presses handed from one thread,
+ * such as the AWT event thread, to one other, such as the game step, without
+ * locks. Each key press is a key code, a character and the time it was
+ * captured, kept in three parallel arrays allocated up front, so queueing a key
+ * press never allocates. The producer only writes the tail and the consumer
+ * only writes the head; each publishes its counter with an ordered write after
+ * touching the slots, so the other side never sees a half-written slot.
+ *
+ * The consumer drains every key press waiting in one batch, and keeps
+ * statistics of how long key presses waited in the queue. If the queue is
+ * full, new key presses are dropped and counted.
+ *
+ * @author Rebecca Song
+ */
+public class InputRingBuffer {
+
+	private final static int DEFAULT_CAPACITY = 256;
+
+	// Slots of the queue, used as a ring
+	private int[] keyCodes;
+	private char[] keyChars;
+	private long[] times;
+
+	// Capacity minus one, to map a counter onto a slot
+	private int mask;
+
+	// Number of key presses ever queued and ever drained
+	private AtomicLong tail;
+	private AtomicLong head;
+
+	// The producer's last look at the head, so it rarely reads it
+	private long cachedHead;
+
+	// Number of key presses dropped because the queue was full
+	private volatile long dropped;
+
+	// Queueing statistics, kept by the consumer
+	private long drained;
+	private long batches;
+	private long totalDelay;
+	private long maxDelay;
+
+	/**
+	 * Creates an empty queue using the default capacity.
+	 */
+	public InputRingBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty queue holding at least the specified number of key
+	 * presses, rounded up to a power of two.
+	 *
+	 * @param capacity the integer number of key presses to hold
+	 */
+	public InputRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+		keyCodes = new int[size];
+		keyChars = new char[size];
+		times = new long[size];
+		mask = size - 1;
+		tail = new AtomicLong(0);
+		head = new AtomicLong(0);
+		cachedHead = 0;
+	}
+
+	/**
+	 * Adds a key press to the end of the queue. Only to be called from the
+	 * producer thread. Returns false, and counts the key press as dropped, if the
+	 * queue is full.
+	 *
+	 * @param keyCode the integer virtual key code of the key
+	 * @param keyChar the character of the key
+	 * @param time    the long time the key was pressed, from System.nanoTime()
+	 * @return true if the key press was queued, false if it was dropped
+	 */
+	public boolean offer(int keyCode, char keyChar, long time) {
+		long t = tail.get();
+
+		// if the queue looks full, look at the head again before giving up
+
+		if (t - cachedHead > mask) {
+			cachedHead = head.get();
+			if (t - cachedHead > mask) {
+				dropped++;
+				return false;
+			}
+		}
+
+		int slot = (int) t & mask;
+		keyCodes[slot] = keyCode;
+		keyChars[slot] = keyChar;
+		times[slot] = time;
+		tail.lazySet(t + 1); // publish the slot after it is written
+		return true;
+	}
+
+	/**
+	 * Passes every key press waiting in the queue, oldest first, to the specified
+	 * handler, and frees their slots. Only to be called from the consumer thread.
+	 *
+	 * @param handler the handler to pass each key press to
+	 * @return the integer number of key presses drained
+	 */
+	public int drain(KeyHandler handler) {
+		long h = head.get();
+		long t = tail.get();
+
+		if (h == t) {
+			return 0;
+		}
+
+		long now = System.nanoTime();
+
+		for (long i = h; i < t; i++) {
+			int slot = (int) i & mask;
+			long delay = now - times[slot];
+
+			totalDelay += delay;
+			maxDelay = Math.max(maxDelay, delay);
+			handler.keyPressed(keyCodes[slot], keyChars[slot], times[slot]);
+		}
+
+		head.lazySet(t); // free the slots after they are read
+		drained += t - h;
+		batches++;
+		return (int) (t - h);
+	}
+
+	/**
+	 * Returns the number of key presses waiting in the queue.
+	 *
+	 * @return the integer number of key presses waiting
+	 */
+	public int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/**
+	 * Returns the number of key presses the queue can hold.
+	 *
+	 * @return the integer capacity of the queue
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the number of key presses dropped because the queue was full.
+	 *
+	 * @return the long number of key presses dropped
+	 */
+	public long getDroppedCount() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the number of key presses drained.
+	 *
+	 * @return the long number of key presses drained
+	 */
+	public long getDrainedCount() {
+		return drained;
+	}
+
+	/**
+	 * Returns the number of batches that drained at least one key press.
+	 *
+	 * @return the long number of batches
+	 */
+	public long getBatchCount() {
+		return batches;
+	}
+
+	/**
+	 * Returns the average time key presses waited in the queue.
+	 *
+	 * @return the double average wait in nanoseconds, or 0 if none were drained
+	 */
+	public double getMeanDelayNanos() {
+		return (drained == 0) ? 0 : (double) totalDelay / drained;
+	}
+
+	/**
+	 * Returns the longest time a key press waited in the queue.
+	 *
+	 * @return the long longest wait in nanoseconds
+	 */
+	public long getMaxDelayNanos() {
+		return maxDelay;
+	}
+
+	/**
+	 * Returns a summary of the queueing statistics.
+	 *
+	 * @return a string summarizing the queue
+	 */
+	public String toString() {
+		return String.format("%d keys in %d batches, mean queue delay %.2f ms, max %.2f ms, %d dropped", drained,
+				batches, getMeanDelayNanos() / 1e6, maxDelay / 1e6, dropped);
+	}
+
+	/**
+	 * Receives the key presses drained from the queue.
+	 */
+	public interface KeyHandler {
+
+		public void keyPressed(int keyCode, char keyChar, long time);
+	}
+}
@@ -0,0 +1,173 @@
+package com.resong.racer.structures;
+
+/**
+ * PatternIterator class walks a trie depth first, producing the words that match
+ * a TriePattern in ascending order. Each step of the walk carries the set of
+ * pattern positions still active, and a subtree is skipped as soon as that set
+ * is empty, so only the part of the trie that can still match is visited. Words
+ * are found one at a time as next() is called, and the walk stops once the
+ * result limit is reached.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class PatternIterator<T> implements Iterator<String> {
+
+	//////////// Attributes /////////////
+
+	private TriePattern pattern; // compiled pattern being matched
+
+	private ArrayDeque<Frame<T>> stack; // nodes still to visit, next one at the head
+
+	private int remaining; // number of words that may still be produced
+
+	private String next; // next word to return, or null if not found yet
+
+	private int[] chars; // scratch array for the characters a pattern allows
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an iterator over the words below the given node
+	 * that match the pattern
+	 *
+	 * @param root    TrieNode<T> node to start from
+	 * @param pattern TriePattern compiled pattern
+	 * @param limit   int largest number of words to produce
+	 */
+
+	PatternIterator(TrieNode<T> root, TriePattern pattern, int limit) {
+		this.pattern = pattern;
+		this.stack = new ArrayDeque<Frame<T>>();
+		this.stack.push(new Frame<T>(root, "", pattern.start()));
+		this.remaining = limit;
+		this.next = null;
+		this.chars = new int[64];
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that determines if there is another matching word.
+	 *
+	 * @return boolean true if there is another word, else false
+	 */
+
+	public boolean hasNext() {
+
+		// if the next word hasn't been found yet, look for it
+
+		if (next == null && remaining > 0) {
+			next = advance();
+		}
+		return next != null;
+	}
+
+	/**
+	 * Method that returns the next matching word. Throws a NoSuchElementException
+	 * if there are no more.
+	 *
+	 * @return String next matching word
+	 */
+
+	public String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		String result = next;
+		next = null;
+		remaining--;
+		return result;
+	}
+
+	/**
+	 * The remove operation is not supported by this iterator.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Helper method that continues the walk until the next matching word is found.
+	 * Returns null when the walk is finished.
+	 *
+	 * @return String next matching word, or null
+	 */
+
+	private String advance() {
+
+		while (!stack.isEmpty()) {
+			Frame<T> frame = stack.pop();
+			TrieNode<T> node = frame.node;
+
+			// push the children that keep at least one position active,
+			// from right to left so the smallest is visited first
+
+			int count = pattern.literals(frame.mask, chars);
+
+			if (count < 0) {
+				for (int i = node.getChildSlots() - 1; i >= 0; i--) {
+					push(frame, node.getChildAt(i));
+				}
+			} else {
+				for (int i = 0; i < count; i++) {
+					push(frame, node.getChildAt(chars[i]));
+				}
+			}
+
+			// if the node holds a word that matches, return it
+
+			if (node.isWord() && pattern.accepts(frame.mask)) {
+				return frame.prefix;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Helper method that pushes a child onto the stack if the pattern can still
+	 * match below it.
+	 *
+	 * @param parent Frame of the parent node
+	 * @param child  TrieNode<T> child node, or null
+	 */
+
+	private void push(Frame<T> parent, TrieNode<T> child) {
+		if (child != null) {
+			char c = child.getCharacter();
+			long mask = pattern.step(parent.mask, c);
+			if (mask != 0) {
+				stack.push(new Frame<T>(child, parent.prefix + c, mask));
+			}
+		}
+	}
+
+	/**
+	 * A node still to be visited, with the pattern positions active there.
+	 */
+
+	private static class Frame<T> {
+
+		private TrieNode<T> node; // node to visit
+
+		private String prefix; // characters on the path to node
+
+		private long mask; // pattern positions active at node
+
+		private Frame(TrieNode<T> node, String prefix, long mask) {
+			this.node = node;
+			this.prefix = prefix;
+			this.mask = mask;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.resong.racer.structures;
+
+/**
+ * PrefixBloomFilter class is a Bloom filter over every prefix of the words added
+ * to it, so it can report that no word starts with a string without looking in
+ * a trie. Adding a word hashes it one character at a time and adds the hash of
+ * each prefix along the way, so a word of length L costs one pass over its
+ * characters and sets the bits of L prefixes. The filter should be sized for the
+ * number of distinct prefixes rather than the number of words; the total length
+ * of the words is a safe upper bound. A prefix shared by several words is only
+ * counted once, so size() is the number of distinct prefixes added.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+public class PrefixBloomFilter extends BloomFilter {
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty filter sized to hold the expected
+	 * number of prefixes with the given false positive rate
+	 *
+	 * @param expectedPrefixes  int number of prefixes expected, at most the total
+	 *                          length of the words
+	 * @param falsePositiveRate double chance of reporting a prefix no word has
+	 */
+
+	public PrefixBloomFilter(int expectedPrefixes, double falsePositiveRate) {
+		super(expectedPrefixes, falsePositiveRate);
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that builds a filter of the prefixes of every word in a word list,
+	 * such as the one returned by the dictionary loader.
+	 *
+	 * @param words             CompactWordList list of words to add
+	 * @param falsePositiveRate double chance of reporting a prefix no word has
+	 * @return PrefixBloomFilter filter of the prefixes of the words
+	 */
+
+	public static PrefixBloomFilter fromList(CompactWordList words, double falsePositiveRate) {
+
+		// count the prefixes each word adds to the words before it, which is
+		// exact for a sorted list and an upper bound otherwise
+
+		int prefixes = 0;
+
+		for (int i = 0; i < words.size(); i++) {
+			int shared = 0;
+			if (i > 0) {
+				int limit = Math.min(words.length(i), words.length(i - 1));
+				while (shared < limit && words.charAt(i, shared) == words.charAt(i - 1, shared)) {
+					shared++;
+				}
+			}
+			prefixes += words.length(i) - shared;
+		}
+
+		PrefixBloomFilter filter = new PrefixBloomFilter(prefixes, falsePositiveRate);
+
+		for (int i = 0; i < words.size(); i++) {
+			filter.add(words.view(i));
+		}
+		return filter;
+	}
+
+	/**
+	 * Method to add every non-empty prefix of a word to the filter, including the
+	 * whole word.
+	 *
+	 * @param word CharSequence whose prefixes are added
+	 */
+
+	public void add(CharSequence word) {
+		long state = HASH_START;
+
+		for (int i = 0; i < word.length(); i++) {
+			state = step(state, word.charAt(i));
+			addHash(state);
+		}
+	}
+
+	/**
+	 * Method that determines if some word added might start with the given string.
+	 * Returns false only if no word does. Every word starts with the empty string.
+	 *
+	 * @param prefix CharSequence to look for
+	 * @return boolean true if a word might start with prefix, false if none does
+	 */
+
+	public boolean mightContainPrefix(CharSequence prefix) {
+		return prefix.length() == 0 || mightContain(prefix);
+	}
+}
@@ -0,0 +1,259 @@
+package com.resong.racer.structures;
+
+/**
+ * SuffixTrie class indexes words by their endings, for rhyme and suffix
+ * challenges. Each word is stored reversed in a trie, so the words ending with a
+ * suffix are exactly the words below the node of the reversed suffix. Finding
+ * that node takes time proportional to the suffix, and the words below it are
+ * then produced lazily, one at a time, so asking for k words never enumerates
+ * the rest of the dictionary. Words come out in the order of their reversals,
+ * which keeps words with the same ending together.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.resong.racer.exceptions.InvalidStringException;
+import com.resong.racer.exceptions.StringExistsException;
+import com.resong.racer.exceptions.StringNotFoundException;
+
+public class SuffixTrie<T> {
+
+	//////////// Attributes /////////////
+
+	private Trie<T> reversed; // trie of the reversed words
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes an empty suffix trie
+	 */
+
+	public SuffixTrie() {
+		this.reversed = new Trie<T>();
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that builds a suffix trie of every word in a word list, such as the
+	 * one returned by the dictionary loader. The data of each word is its index in
+	 * the list. Duplicate words are only stored once.
+	 *
+	 * @param words CompactWordList list of words to index
+	 * @return SuffixTrie<Integer> suffix trie of the words
+	 * @throws InvalidStringException throw exception if a word is invalid
+	 */
+
+	public static SuffixTrie<Integer> fromList(CompactWordList words) throws InvalidStringException {
+		SuffixTrie<Integer> trie = new SuffixTrie<Integer>();
+
+		for (int i = 0; i < words.size(); i++) {
+			String word = reverse(words.view(i));
+			if (!trie.reversed.contains(word)) {
+				try {
+					trie.reversed.add(word, i);
+				} catch (StringExistsException e) {
+					// not reached, since the word was checked first
+				}
+			}
+		}
+		return trie;
+	}
+
+	/**
+	 * Method to add a word with an associated data object.
+	 *
+	 * @param word String to be added
+	 * @param data T object to be associated with the word
+	 * @throws StringExistsException  throw exception if the word already exists
+	 * @throws InvalidStringException throw exception if invalid word entered
+	 */
+
+	public void add(String word, T data) throws StringExistsException, InvalidStringException {
+		reversed.add(reverse(word), data); // add the reversed word
+	}
+
+	/**
+	 * Method to remove a word, returning its data object.
+	 *
+	 * @param word String to be removed
+	 * @return T data object of the word
+	 * @throws InvalidStringException  throw exception if invalid word entered
+	 * @throws StringNotFoundException throw exception if the word is not found
+	 */
+
+	public T remove(String word) throws InvalidStringException, StringNotFoundException {
+		return reversed.remove(reverse(word)); // remove the reversed word
+	}
+
+	/**
+	 * Method that determines if the word is stored.
+	 *
+	 * @param word String to look for
+	 * @return boolean true if the word is stored, else false
+	 */
+
+	public boolean contains(String word) {
+		return reversed.contains(reverse(word)); // return if the reversed word is stored
+	}
+
+	/**
+	 * Method to find the data object of a word. Throws an exception if not found.
+	 *
+	 * @param word String to look for
+	 * @return T data object of the word
+	 * @throws StringNotFoundException throw exception if the word is not found
+	 */
+
+	public T find(String word) throws StringNotFoundException {
+		try {
+			return reversed.find(reverse(word)); // return data of the reversed word
+		} catch (StringNotFoundException e) {
+			throw new StringNotFoundException(word);
+		}
+	}
+
+	/**
+	 * Method that determines if any stored word ends with the given suffix.
+	 *
+	 * @param suffix String ending to look for
+	 * @return boolean true if a word ends with the suffix, else false
+	 */
+
+	public boolean containsSuffix(String suffix) {
+		TrieNode<T> node = endNode(suffix);
+		return node != null && node.getWordCount() > 0;
+	}
+
+	/**
+	 * Method that returns the number of stored words ending with the given suffix,
+	 * in time proportional to the suffix.
+	 *
+	 * @param suffix String ending to count
+	 * @return int number of words ending with the suffix
+	 */
+
+	public int countEndingWith(String suffix) {
+		TrieNode<T> node = endNode(suffix);
+		return (node == null) ? 0 : node.getWordCount();
+	}
+
+	/**
+	 * Method that returns an iterator over every stored word ending with the given
+	 * suffix, including the suffix itself if it is a word.
+	 *
+	 * @param suffix String ending to look for, such as "tion"
+	 * @return Iterator<String> iterator of words ending with the suffix
+	 */
+
+	public Iterator<String> wordsEndingWith(String suffix) {
+		return wordsEndingWith(suffix, Integer.MAX_VALUE); // return iterator with no limit
+	}
+
+	/**
+	 * Method that returns an iterator over at most limit stored words ending with
+	 * the given suffix. Words are found lazily as the iterator is used.
+	 *
+	 * @param suffix String ending to look for, such as "tion"
+	 * @param limit  int largest number of words to return
+	 * @return Iterator<String> iterator of words ending with the suffix
+	 */
+
+	public Iterator<String> wordsEndingWith(String suffix, int limit) {
+		TrieNode<T> node = endNode(suffix);
+
+		if (node == null || limit <= 0) {
+			return new SuffixIterator(null, 0);
+		}
+		return new SuffixIterator(new TrieSpliterator<T>(node, reverse(suffix)), limit);
+	}
+
+	/**
+	 * Method that returns the number of words stored.
+	 *
+	 * @return int number of words
+	 */
+
+	public int size() {
+		return reversed.size(); // return size of the reversed trie
+	}
+
+	/**
+	 * Method that determines if the suffix trie is empty or not.
+	 *
+	 * @return true if empty, else false
+	 */
+
+	public boolean isEmpty() {
+		return reversed.isEmpty(); // return if the reversed trie is empty
+	}
+
+	/**
+	 * Helper method that returns the node of the reversed suffix, or null if no
+	 * word ends with it.
+	 *
+	 * @param suffix String ending to look for
+	 * @return TrieNode<T> node of the reversed suffix, or null
+	 */
+
+	private TrieNode<T> endNode(String suffix) {
+		return ((TrieNode<T>) reversed.getRoot()).findEndNode(reverse(suffix));
+	}
+
+	/**
+	 * Helper method that returns the characters of a string in reverse order.
+	 *
+	 * @param word CharSequence to reverse
+	 * @return String reversed characters
+	 */
+
+	private static String reverse(CharSequence word) {
+		return new StringBuilder(word).reverse().toString();
+	}
+
+	/**
+	 * Iterates over the words below a node of the reversed trie, reversing each one
+	 * back, and stops after a limit.
+	 */
+
+	private class SuffixIterator implements Iterator<String> {
+
+		private TrieSpliterator<T> words; // spliterator over the reversed words, or null
+
+		private int remaining; // number of words that may still be returned
+
+		private String next; // next word to return, or null if not found yet
+
+		private SuffixIterator(TrieSpliterator<T> words, int limit) {
+			this.words = words;
+			this.remaining = limit;
+			this.next = null;
+		}
+
+		public boolean hasNext() {
+			if (next == null && remaining > 0 && words != null) {
+				words.tryAdvance(word -> next = reverse(word));
+			}
+			return next != null;
+		}
+
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			String result = next;
+			next = null;
+			remaining--;
+			return result;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -2,14 +2,17 @@ package com.resong.racer.structures;
 
 /**
  * Trie class allows for construction of a Trie object initializes a root and count of
- * the words stored in it. Has getRoot, add, remove, contains, containsPrefix, find, size,
- * isEmpty, and ascending and descending string iterator methods.
+ * the words stored in it. Has getRoot, add, remove, contains, containsPrefix,
+ * containsPrefixOf, find, size, isEmpty, ascending and descending string iterator,
+ * pattern matching and stream methods.
  * 
  * @author Rebecca Song
  *
  */
 
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.resong.racer.exceptions.InvalidStringException;
 import com.resong.racer.exceptions.StringExistsException;
@@ -19,7 +22,7 @@ public class Trie<T> implements TrieADT<T> {
 
 	//////////// Attributes /////////////
 
-	private TrieNodeADT<T> root; // root note of trie
+	private TrieNode<T> root; // root note of trie
 
 	private int count; // number of words in trie
 
@@ -77,7 +80,8 @@ public class Trie<T> implements TrieADT<T> {
 	/**
 	 * Method to add a string with an associated data object to the trie. Calls on
 	 * the TrieNode add method if the word passed to the method is valid, not null,
-	 * and not already in the trie.
+	 * and not already in the trie. The word may be a prefix of words already in
+	 * the trie, or have them as prefixes (e.g. "aa" and "aah" can both be stored).
 	 * 
 	 * @param word String to be added to the trie
 	 * @param data T object to be assigned to the last node of the word
@@ -105,14 +109,14 @@ public class Trie<T> implements TrieADT<T> {
 		// if the word is null or invalid is true, throw
 		// an InvalidStringException
 
-		if (word == "" || invalid) {
+		if (("").equals(word) || invalid) {
 			throw new InvalidStringException(word);
 		}
 
 		// if the trie already contains the word as
-		// a prefix then throw a StringExistsException
+		// a word then throw a StringExistsException
 
-		if (containsPrefix(word)) {
+		if (contains(word)) {
 			throw new StringExistsException(word);
 		}
 
@@ -151,7 +155,7 @@ public class Trie<T> implements TrieADT<T> {
 		// if the word is null or invalid is true, throw
 		// an InvalidStringException
 
-		if (word == "" || invalid) {
+		if (("").equals(word) || invalid) {
 			throw new InvalidStringException(word);
 		}
 
@@ -170,7 +174,7 @@ public class Trie<T> implements TrieADT<T> {
 	/**
 	 * Method that determines if the word passed to it is in the trie as a word.
 	 * Returns true if is in the trie, else it returns false (including if the word
-	 * is in the trie as a prefix).
+	 * is in the trie only as a prefix of other words).
 	 * 
 	 * @return boolean true if word is in the trie as a word, else it returns false
 	 */
@@ -186,9 +190,9 @@ public class Trie<T> implements TrieADT<T> {
 
 		if (temp != null) {
 
-			// if temp is a leaf node, return true
+			// if a word ends at temp, return true
 
-			if (temp.isLeaf()) {
+			if (temp.isWord()) {
 				return true;
 			}
 
@@ -236,6 +240,33 @@ public class Trie<T> implements TrieADT<T> {
 		}
 	}
 
+	/**
+	 * Method to determine if any word in the trie is a prefix of the word passed to
+	 * this method, including the word itself. Walks only the word's own path, so it
+	 * takes time proportional to the length of the word.
+	 * 
+	 * @param word String to check
+	 * @return boolean true if a word in the trie starts the given word, else false
+	 */
+
+	public boolean containsPrefixOf(String word) {
+		TrieNode<T> node = root;
+
+		// walk down the word, stopping at the first node that ends a word
+
+		for (int i = 0; i < word.length(); i++) {
+			node = node.getChildAt(word.charAt(i));
+			if (node == null) {
+				return false;
+			}
+			if (node.isWord()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Method to find a word in the trie. Throws an exception if not found. Returns
 	 * the data element in the end node of the word, if it is found.
@@ -252,9 +283,9 @@ public class Trie<T> implements TrieADT<T> {
 
 		TrieNodeADT<T> temp = root.findEndNode(word);
 
-		// if temp is not null, return the data of temp
+		// if a word ends at temp, return the data of temp
 
-		if (temp != null) {
+		if (temp != null && temp.isWord()) {
 			return temp.getData();
 		}
 
@@ -266,6 +297,75 @@ public class Trie<T> implements TrieADT<T> {
 
 	}
 
+	/**
+	 * Method that returns the shortest prefix of the given word that no other word
+	 * in the trie starts with. Uses the word counts kept in each node, which are
+	 * updated on every add and remove, so it only walks the word's own path. If
+	 * every prefix is shared (the word is the start of another word), the whole
+	 * word is returned.
+	 * 
+	 * @param word String in the trie
+	 * @return String shortest unique prefix of the word
+	 * @throws StringNotFoundException throws exception if word is not in the trie
+	 */
+
+	public String shortestUniquePrefix(String word) throws StringNotFoundException {
+
+		// if the word isn't in the trie, throw a StringNotFoundException
+
+		if (!contains(word)) {
+			throw new StringNotFoundException(word);
+		}
+
+		// walk down the word until reaching a node with only one word below it
+
+		TrieNode<T> node = root;
+
+		for (int i = 0; i < word.length(); i++) {
+			node = node.getChildAt(word.charAt(i));
+			if (node.getWordCount() == 1) {
+				return word.substring(0, i + 1);
+			}
+		}
+
+		return word; // return the whole word
+	}
+
+	/**
+	 * Method that returns the only word in the trie starting with the given
+	 * prefix, or null if no word or more than one word starts with it.
+	 * 
+	 * @param prefix String prefix to complete
+	 * @return String the single word starting with prefix, or null
+	 */
+
+	public String uniqueCompletion(String prefix) {
+
+		// find the end node of the prefix, and return null if
+		// it doesn't have exactly one word below it
+
+		TrieNode<T> node = root.findEndNode(prefix);
+
+		if (node == null || node.getWordCount() != 1) {
+			return null;
+		}
+
+		// follow the only child of each node until reaching the word
+
+		StringBuilder word = new StringBuilder(prefix);
+
+		while (!node.isWord()) {
+			TrieNode<T> only = null;
+			for (int i = 0; i < node.getChildSlots() && only == null; i++) {
+				only = node.getChildAt(i);
+			}
+			node = only;
+			word.append(node.getCharacter());
+		}
+
+		return word.toString(); // return the completed word
+	}
+
 	/**
 	 * Method that returns an integer value representing the number of words stored
 	 * in the trie.
@@ -309,4 +409,56 @@ public class Trie<T> implements TrieADT<T> {
 		return root.reversePreorderIterator(); // return reversePreorderIteratore called by the root
 	}
 
+	/**
+	 * Method that returns a sequential stream of the words in the trie, in
+	 * ascending order
+	 * 
+	 * @return Stream<String> sequential stream of words
+	 */
+
+	public Stream<String> stream() {
+		return StreamSupport.stream(new TrieSpliterator<T>(root, ""), false); // return sequential stream
+	}
+
+	/**
+	 * Method that returns a parallel stream of the words in the trie. Work is
+	 * split between threads at child boundaries, so subtrees are handed off whole.
+	 * 
+	 * @return Stream<String> parallel stream of words
+	 */
+
+	public Stream<String> parallelStream() {
+		return StreamSupport.stream(new TrieSpliterator<T>(root, ""), true); // return parallel stream
+	}
+
+	/**
+	 * Method that returns an iterator over the words matching the given pattern,
+	 * in ascending order. A pattern may use '?' for any single character, '*' for
+	 * any run of characters, character classes such as [aeiou], [a-m] or [^xyz],
+	 * and a backslash to make the next character literal.
+	 * 
+	 * @param pattern String pattern to match, such as "c?t" or "*ing"
+	 * @return Iterator<String> iterator of matching words
+	 * @throws InvalidStringException throw exception if the pattern is malformed
+	 */
+
+	public Iterator<String> matchPattern(String pattern) throws InvalidStringException {
+		return matchPattern(pattern, Integer.MAX_VALUE); // return iterator with no limit
+	}
+
+	/**
+	 * Method that returns an iterator over at most limit words matching the given
+	 * pattern, in ascending order. Words are found lazily as the iterator is used,
+	 * and subtrees that cannot match are never visited.
+	 * 
+	 * @param pattern String pattern to match
+	 * @param limit   int largest number of words to return
+	 * @return Iterator<String> iterator of matching words
+	 * @throws InvalidStringException throw exception if the pattern is malformed
+	 */
+
+	public Iterator<String> matchPattern(String pattern, int limit) throws InvalidStringException {
+		return new PatternIterator<T>(root, new TriePattern(pattern), limit); // return pattern iterator
+	}
+
 }
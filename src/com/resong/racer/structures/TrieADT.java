@@ -1,6 +1,7 @@
 package com.resong.racer.structures;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import com.resong.racer.exceptions.InvalidStringException;
 import com.resong.racer.exceptions.StringExistsException;
@@ -26,8 +27,14 @@ public interface TrieADT<T> {
 
 	public boolean containsPrefix(String prefix);
 
+	public boolean containsPrefixOf(String word);
+
 	public T find(String word) throws StringNotFoundException;
 
+	public String shortestUniquePrefix(String word) throws StringNotFoundException;
+
+	public String uniqueCompletion(String prefix);
+
 	public int size();
 
 	public boolean isEmpty();
@@ -35,4 +42,12 @@ public interface TrieADT<T> {
 	public Iterator<String> ascendingStringIterator();
 
 	public Iterator<String> descendingStringIterator();
+
+	public Iterator<String> matchPattern(String pattern) throws InvalidStringException;
+
+	public Iterator<String> matchPattern(String pattern, int limit) throws InvalidStringException;
+
+	public Stream<String> stream();
+
+	public Stream<String> parallelStream();
 }
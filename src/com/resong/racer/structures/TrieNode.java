@@ -3,8 +3,8 @@ package com.resong.racer.structures;
 /**
  * TrieNode class allows for construction of a TrieNode object that can be used to
  * expand a trie. Either takes nothing, or takes a Character and the TrieNode which 
- * will be its parent. Has an add, remove, findEndNode, getData, isLeaf, getCharacter 
- * and various iterative methods.
+ * will be its parent. Has an add, remove, findEndNode, getData, isLeaf, isWord,
+ * getCharacter and various iterative methods.
  * 
  * @author Rebecca Song
  *
@@ -26,6 +26,10 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 
 	private int childCount; // number of children
 
+	private boolean terminal; // true if a word ends at this node
+
+	private int wordCount; // number of words stored in this node's subtree
+
 	///////////// Constructors ///////////
 
 	/**
@@ -38,6 +42,8 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 		this.parent = null;
 		this.children = new SmartArray<TrieNode<T>>();
 		this.childCount = 0;
+		this.terminal = false;
+		this.wordCount = 0;
 	}
 
 	/**
@@ -54,6 +60,8 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 		this.parent = p;
 		this.children = new SmartArray<TrieNode<T>>();
 		this.childCount = 0;
+		this.terminal = false;
+		this.wordCount = 0;
 	}
 
 	///////////// Methods /////////////
@@ -62,7 +70,9 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 	 * Method to add a string, each character of the string being assigned to the
 	 * current node's child node. A new child node is created if the character
 	 * doesn't exist as a child node already. If it does, then the next character in
-	 * the string is added. The last character of the string gets a data element.
+	 * the string is added. The node of the last character is marked as the end of
+	 * a word and gets a data element, so words that are prefixes of other words can
+	 * be stored alongside them.
 	 * 
 	 * @param word String to be added
 	 * @param data T generic object to be added to the last node
@@ -70,114 +80,87 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 
 	public void add(String word, T data) {
 
-		// if word is not null
-
-		if (!("").equals(word)) {
-
-			// get first character of the word, its integer value
-			// and the length of the word
+		TrieNode<T> current = this; // start at the current node
 
-			char character = word.charAt(0);
-			int i = (int) character;
-			int length = word.length();
+		// loop through the characters of the word
 
-			// get the node at index i of the array and assign it to temp
+		for (int index = 0; index < word.length(); index++) {
 
-			TrieNode<T> temp = this.children.get(i);
+			// get the character and its integer value, and
+			// the child node at that index
 
-			// if temp is not null, pass the word excluding the
-			// character stored by temp and the data element
-			// to the recursive add method
+			char character = word.charAt(index);
+			int i = (int) character;
+			TrieNode<T> child = current.children.get(i);
 
-			if (temp != null) {
-				word = word.substring(1, length);
-				temp.add(word, data);
-			}
+			// if there is no child for the character, create and set the
+			// child node so its character is the current character and its
+			// parent is current
 
-			// otherwise create and set the child node so its
-			// character is the current character and its parent
-			// is this, and pass the word excluding the current character
-			// to the recursive add method
-
-			else {
-				TrieNode<T> child = new TrieNode<T>(character, this);
-				this.children.set(i, child);
-				word = word.substring(1, length);
-				child.add(word, data);
-				this.childCount++; // increment number of children
+			if (child == null) {
+				child = new TrieNode<T>(character, current);
+				current.children.set(i, child);
+				current.childCount++; // increment number of children
 			}
 
+			current = child; // move down to the child
 		}
 
-		// otherwise assign the data element to this node and return
+		// if the last node doesn't already end a word, mark it as the end of
+		// a word and increment the word count of it and every node above it
 
-		else {
-			this.data = data;
-			return;
+		if (!current.terminal) {
+			current.terminal = true;
+			for (TrieNode<T> node = current; node != null; node = node.parent) {
+				node.wordCount++;
+			}
 		}
 
+		current.data = data; // assign the data element to the last node
 	}
 
 	/**
-	 * Method to remove a string by removing the nodes containing the characters
-	 * individually and returning the data value contained in the last character.
-	 * This removes the end node of each word passed to it (where each word is the
-	 * previous word excluding the character) so long as the end node is a leaf
-	 * node.
+	 * Method to remove a string and return the data value contained in the node of
+	 * its last character. The last node is unmarked as the end of a word, and then
+	 * nodes are removed from the bottom up for as long as they neither end a word
+	 * nor have any children, so other words sharing the string's nodes are kept.
 	 * 
 	 * @param word String to be removed
-	 * @return T info data object in the node of the last character
+	 * @return T info data object in the node of the last character, or null if the
+	 *         word is not stored below this node
 	 */
 
 	public T remove(String word) {
 
-		T info = null; // create and initialize info to null
-
-		// if word is not null
-
-		if (!("").equals(word)) {
-
-			// create a tempData T object, a temp trie node
-			// and a current trie node that is assigned the end node
-			// of the current word
-
-			T tempData;
-			TrieNode<T> temp;
-			TrieNode<T> current = findEndNode(word);
-
-			// if current is not null and a leaf node
-
-			if (current != null) {
-				if (current.isLeaf()) {
+		// find the end node of the word, and return null
+		// if it doesn't end a word
 
-					// get the integer value of current's character
+		TrieNode<T> current = findEndNode(word);
 
-					int i = (int) current.getCharacter();
-
-					// remove the current node and store
-					// its data object in a tempData variable
-
-					tempData = current.getData();
-					temp = current.parent;
-					current.parent = null;
-					current = temp;
-					current.children.set(i, null);
-					current.childCount--; // decrement the child count
-
-					// pass the recursive remove method the current word
-					// excluding the character the end node contained
-
-					word = word.substring(0, word.length() - 1);
-					this.remove(word);
+		if (current == null || !current.terminal) {
+			return null;
+		}
 
-					// assign tempData to info
+		// unmark the end node, store its data object in info, and decrement
+		// the word count of it and every node above it
 
-					info = tempData;
+		T info = current.data;
+		current.terminal = false;
+		current.data = null;
 
-				}
+		for (TrieNode<T> node = current; node != null; node = node.parent) {
+			node.wordCount--;
+		}
 
-			}
+		// while current is below this node, doesn't end a word and is
+		// a leaf, remove it from its parent and move up to the parent
 
+		while (current != this && !current.terminal && current.isLeaf()) {
+			TrieNode<T> temp = current.parent;
+			temp.children.set((int) current.getCharacter(), null);
+			temp.childCount--; // decrement the child count
+			current.parent = null;
+			current = temp;
 		}
 
 		return info; // return info
@@ -194,39 +177,27 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 
 	public TrieNode<T> findEndNode(String word) {
 
-		TrieNode<T> end = null; // create and initiate a node called end
-
-		// if the word is not null
-
-		if (!("").equals(word)) {
-
-			// get first character, its integer value and length of the word
-
-			char character = word.charAt(0);
-			int i = (int) character;
-			int length = word.length();
-
-			// get the child node at index i and assign it to a temp node
+		TrieNode<T> end = this; // start at the current node
 
-			TrieNode<T> temp = this.children.get(i);
+		// loop through the characters of the word, moving down to the
+		// child for each one, and return null if there is no such child
 
-			// if temp is not null, pass the substring of the word
-			// excluding its first character to the findEndNode method,
-			// called by temp, and assign the returning node to end
-
-			if (temp != null) {
-				word = word.substring(1, length);
-				end = temp.findEndNode(word);
-			}
+		for (int index = 0; index < word.length() && end != null; index++) {
+			end = end.children.get((int) word.charAt(index));
 		}
 
-		// otherwise assign the current node to end
+		return end; // return end
+	}
 
-		else {
-			end = this;
-		}
+	/**
+	 * Method to determine if a word ends at the current node. This is separate from
+	 * isLeaf, since a word may also be the prefix of longer words.
+	 * 
+	 * @return boolean true if a word ends here, else false
+	 */
 
-		return end; // return end
+	public boolean isWord() {
+		return this.terminal; // return terminal
 	}
 
 	/**
@@ -268,6 +239,40 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 		return this.character; // return character
 	}
 
+	/**
+	 * Accessor method that returns the number of words stored in the subtree
+	 * rooted at the current node (including the current node itself)
+	 * 
+	 * @return int number of words in this subtree
+	 */
+
+	int getWordCount() {
+		return this.wordCount; // return wordCount
+	}
+
+	/**
+	 * Accessor method that returns the child node stored at the given index of the
+	 * children array, or null if there is none
+	 * 
+	 * @param index int value of the child's character
+	 * @return TrieNode<T> child node or null
+	 */
+
+	TrieNode<T> getChildAt(int index) {
+		return this.children.get(index); // return child at index
+	}
+
+	/**
+	 * Accessor method that returns the length of the children array, so callers
+	 * can loop through every child index without an iterator
+	 * 
+	 * @return int length of the children array
+	 */
+
+	int getChildSlots() {
+		return this.children.length(); // return length of children
+	}
+
 	/**
 	 * Helper method used for a preorder iterator. Takes a string and an unordered
 	 * list of strings implemented by an array to store the strings, passed to it by
@@ -303,9 +308,9 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 		prefix = prefix + temp;
 		TrieNode<T> child;
 
-		// if the current node's data is not null
+		// if a word ends at the current node
 
-		if (this.data != null) {
+		if (this.terminal) {
 			words.addToRear(prefix); // add the prefix to the list
 
 			// if the current node is not a leaf
@@ -410,9 +415,9 @@ public class TrieNode<T> implements TrieNodeADT<T> {
 		prefix = prefix + temp;
 		TrieNode<T> child;
 
-		// if the current node's data is not null
+		// if a word ends at the current node
 
-		if (this.data != null) {
+		if (this.terminal) {
 			words.addToRear(prefix);// add the prefix to the list
 
 			// if the current node is not a leaf
@@ -20,6 +20,8 @@ public interface TrieNodeADT<T> {
 
 	public boolean isLeaf();
 
+	public boolean isWord();
+
 	public Character getCharacter();
 
 	public Iterator<TrieNodeADT<T>> childNodeIterator();
@@ -0,0 +1,332 @@
+package com.resong.racer.structures;
+
+/**
+ * TriePattern class compiles a wildcard pattern so it can be matched against a
+ * trie one character at a time. A pattern is made up of literal characters,
+ * '?' (any single character), '*' (any run of characters, including none) and
+ * character classes such as [aeiou], [a-m] and [^xyz]. A backslash makes the
+ * next character literal.
+ *
+ * The compiled pattern is run as a set of active positions (a bit mask), so a
+ * walk down the trie can carry one mask per node and stop as soon as the mask
+ * becomes empty.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import com.resong.racer.exceptions.InvalidStringException;
+
+class TriePattern {
+
+	//////////// Attributes /////////////
+
+	// Largest number of tokens in a pattern, so every position fits in a long
+	private static final int MAX_TOKENS = 63;
+
+	// Largest character value the trie accepts
+	private static final int MAX_CHAR = 255;
+
+	private int length; // number of tokens in the pattern
+
+	private boolean[] star; // true if the token at each position is '*'
+
+	private long[][] classes; // 256-bit set of characters matched by each token
+
+	private int[] literal; // single character matched by each token, or -1
+
+	private long start; // active positions before any character is read
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that compiles the given pattern
+	 *
+	 * @param pattern String pattern to compile
+	 * @throws InvalidStringException throw exception if the pattern is malformed,
+	 *                                too long, or uses a character above 255
+	 */
+
+	TriePattern(String pattern) throws InvalidStringException {
+
+		// there can be no more tokens than characters in the pattern
+
+		this.star = new boolean[pattern.length()];
+		this.classes = new long[pattern.length()][];
+		this.literal = new int[pattern.length()];
+		this.length = 0;
+
+		int i = 0;
+
+		// loop through the pattern, adding one token per iteration
+
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i);
+
+			if (c == '*') {
+
+				// collapse runs of stars into a single token
+
+				if (length == 0 || !star[length - 1]) {
+					star[length] = true;
+					literal[length] = -1;
+					length++;
+				}
+				i++;
+			}
+
+			else if (c == '?') {
+				long[] set = new long[4];
+				for (int j = 0; j < set.length; j++) {
+					set[j] = -1L;
+				}
+				addClass(set, -1);
+				i++;
+			}
+
+			else if (c == '[') {
+				i = parseClass(pattern, i + 1);
+			}
+
+			else {
+
+				// a backslash escapes the character after it
+
+				if (c == '\\') {
+					if (i + 1 == pattern.length()) {
+						throw new InvalidStringException(pattern);
+					}
+					c = pattern.charAt(++i);
+				}
+
+				if (c > MAX_CHAR) {
+					throw new InvalidStringException(pattern);
+				}
+
+				long[] set = new long[4];
+				set[c >>> 6] |= 1L << c;
+				addClass(set, c);
+				i++;
+			}
+
+			// if the pattern has grown past the limit, throw an exception
+
+			if (length > MAX_TOKENS) {
+				throw new InvalidStringException(pattern);
+			}
+		}
+
+		this.start = closure(1L);
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that returns the active positions before any character is read
+	 *
+	 * @return long bit mask of start positions
+	 */
+
+	long start() {
+		return this.start; // return start
+	}
+
+	/**
+	 * Method that returns the active positions after reading a character. A result
+	 * of zero means no word below this point can match.
+	 *
+	 * @param mask long active positions before the character
+	 * @param c    char character read
+	 * @return long active positions after the character
+	 */
+
+	long step(long mask, char c) {
+		long next = 0;
+
+		// loop through each active position below the end of the pattern
+
+		for (long rest = mask & ~(1L << length); rest != 0; rest &= rest - 1) {
+			int p = Long.numberOfTrailingZeros(rest);
+
+			// a star consumes the character and stays where it is, any other
+			// token moves on to the next position if it matches
+
+			if (star[p]) {
+				next |= 1L << p;
+			} else if (c <= MAX_CHAR && (classes[p][c >>> 6] & (1L << c)) != 0) {
+				next |= 1L << (p + 1);
+			}
+		}
+
+		return closure(next);
+	}
+
+	/**
+	 * Method that determines if the given positions include the end of the
+	 * pattern, meaning the characters read so far match the whole pattern
+	 *
+	 * @param mask long active positions
+	 * @return boolean true if the pattern is matched, else false
+	 */
+
+	boolean accepts(long mask) {
+		return (mask & (1L << length)) != 0; // return true if end position is active
+	}
+
+	/**
+	 * Method that fills the given array with the only characters that can move
+	 * the given positions forward, in descending order, and returns how many there
+	 * are. Returns -1 if some active token accepts more than one character, in
+	 * which case every child has to be tried.
+	 *
+	 * @param mask  long active positions
+	 * @param chars int array of at least 64 slots to fill
+	 * @return int number of characters, or -1 if any character may match
+	 */
+
+	int literals(long mask, int[] chars) {
+		int count = 0;
+
+		for (long rest = mask & ~(1L << length); rest != 0; rest &= rest - 1) {
+			int p = Long.numberOfTrailingZeros(rest);
+			if (literal[p] < 0) {
+				return -1;
+			}
+
+			// insert the character in descending order, skipping repeats
+
+			int c = literal[p];
+			int j = count;
+			while (j > 0 && chars[j - 1] < c) {
+				j--;
+			}
+			if (j > 0 && chars[j - 1] == c) {
+				continue;
+			}
+			System.arraycopy(chars, j, chars, j + 1, count - j);
+			chars[j] = c;
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Helper method that adds positions reachable without reading a character,
+	 * which is the position after any active star.
+	 *
+	 * @param mask long active positions
+	 * @return long active positions including those reached through stars
+	 */
+
+	private long closure(long mask) {
+		for (int p = 0; p < length; p++) {
+			if (star[p] && (mask & (1L << p)) != 0) {
+				mask |= 1L << (p + 1);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Helper method that appends a character class token to the pattern
+	 *
+	 * @param set     long array 256-bit set of matched characters
+	 * @param literal int single matched character, or -1
+	 */
+
+	private void addClass(long[] set, int literal) {
+		this.star[length] = false;
+		this.classes[length] = set;
+		this.literal[length] = literal;
+		this.length++;
+	}
+
+	/**
+	 * Helper method that parses a character class starting just after its '[' and
+	 * appends it to the pattern. Returns the index just after the closing ']'.
+	 *
+	 * @param pattern String pattern being compiled
+	 * @param i       int index just after the '['
+	 * @return int index just after the ']'
+	 * @throws InvalidStringException throw exception if the class is malformed
+	 */
+
+	private int parseClass(String pattern, int i) throws InvalidStringException {
+		long[] set = new long[4];
+		boolean negate = false;
+		boolean closed = false;
+
+		if (i < pattern.length() && pattern.charAt(i) == '^') {
+			negate = true;
+			i++;
+		}
+
+		// loop through the class until the closing bracket
+
+		while (i < pattern.length()) {
+			char low = pattern.charAt(i);
+
+			if (low == ']') {
+				closed = true;
+				i++;
+				break;
+			}
+
+			if (low == '\\' && i + 1 < pattern.length()) {
+				low = pattern.charAt(++i);
+			}
+
+			char high = low;
+
+			// if this is a range such as a-z, read its upper bound
+
+			if (i + 2 < pattern.length() && pattern.charAt(i + 1) == '-' && pattern.charAt(i + 2) != ']') {
+				i += 2;
+				high = pattern.charAt(i);
+				if (high == '\\' && i + 1 < pattern.length()) {
+					high = pattern.charAt(++i);
+				}
+			}
+
+			if (low > MAX_CHAR || high > MAX_CHAR || low > high) {
+				throw new InvalidStringException(pattern);
+			}
+
+			for (int c = low; c <= high; c++) {
+				set[c >>> 6] |= 1L << c;
+			}
+			i++;
+		}
+
+		if (!closed) {
+			throw new InvalidStringException(pattern);
+		}
+
+		// negate the class if it started with a caret
+
+		if (negate) {
+			for (int j = 0; j < set.length; j++) {
+				set[j] = ~set[j];
+			}
+		}
+
+		// if the class only holds one character, record it as a literal
+
+		int literal = -1;
+		int bits = 0;
+		for (int j = 0; j < set.length; j++) {
+			bits += Long.bitCount(set[j]);
+		}
+		if (bits == 1) {
+			for (int j = 0; j < set.length; j++) {
+				if (set[j] != 0) {
+					literal = (j << 6) + Long.numberOfTrailingZeros(set[j]);
+				}
+			}
+		}
+
+		addClass(set, literal);
+		return i;
+	}
+}
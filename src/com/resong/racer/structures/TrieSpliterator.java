@@ -0,0 +1,251 @@
+package com.resong.racer.structures;
+
+/**
+ * TrieSpliterator class allows the words stored in a trie to be traversed and
+ * partitioned by java.util.stream. Words are produced in ascending order, and
+ * splitting hands off whole subtrees, using the word count of each subtree so
+ * both halves of a split hold roughly the same number of words.
+ *
+ * @author Rebecca Song
+ *
+ */
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class TrieSpliterator<T> implements Spliterator<String> {
+
+	//////////// Attributes /////////////
+
+	private ArrayDeque<Frame<T>> stack; // pending subtrees, next one at the head
+
+	private long remaining; // number of words left to produce
+
+	/////////// Constructors ///////////
+
+	/**
+	 * Constructor that initializes a spliterator over every word in the subtree
+	 * rooted at the given node
+	 *
+	 * @param node   TrieNode<T> root of the subtree to traverse
+	 * @param prefix String of characters on the path to node, including its own
+	 */
+
+	TrieSpliterator(TrieNode<T> node, String prefix) {
+		this.stack = new ArrayDeque<Frame<T>>();
+		this.stack.push(new Frame<T>(node, prefix, false));
+		this.remaining = node.getWordCount();
+	}
+
+	/**
+	 * Constructor used by trySplit to hand off a run of pending subtrees
+	 *
+	 * @param stack     ArrayDeque of pending subtrees, next one at the head
+	 * @param remaining long number of words in those subtrees
+	 */
+
+	private TrieSpliterator(ArrayDeque<Frame<T>> stack, long remaining) {
+		this.stack = stack;
+		this.remaining = remaining;
+	}
+
+	//////////// Methods //////////////
+
+	/**
+	 * Method that passes the next word in ascending order to the action, if there
+	 * is one.
+	 *
+	 * @param action Consumer to receive the next word
+	 * @return boolean true if a word was passed to the action, else false
+	 */
+
+	public boolean tryAdvance(Consumer<? super String> action) {
+
+		// pop subtrees until one produces a word
+
+		while (!stack.isEmpty()) {
+			Frame<T> frame = stack.pop();
+
+			// if the frame only stands for its own word, produce it
+
+			if (frame.wordOnly) {
+				remaining--;
+				action.accept(frame.prefix);
+				return true;
+			}
+
+			// otherwise push its children (R to L so the smallest is on
+			// top) and produce the node's own word if it holds one
+
+			pushChildren(frame);
+
+			if (frame.node.isWord()) {
+				remaining--;
+				action.accept(frame.prefix);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Method that passes every remaining word in ascending order to the action.
+	 *
+	 * @param action Consumer to receive the words
+	 */
+
+	public void forEachRemaining(Consumer<? super String> action) {
+		while (!stack.isEmpty()) {
+			Frame<T> frame = stack.pop();
+			if (frame.wordOnly) {
+				action.accept(frame.prefix);
+			} else {
+				forEachInSubtree(frame.node, frame.prefix, action);
+			}
+		}
+		remaining = 0;
+	}
+
+	/**
+	 * Method that splits off the first half (by word count) of the remaining
+	 * subtrees into a new spliterator. If only a single subtree remains, it is
+	 * broken up at its child boundaries first. Returns null if the remaining words
+	 * cannot be split.
+	 *
+	 * @return Spliterator<String> covering the first half, or null
+	 */
+
+	public Spliterator<String> trySplit() {
+
+		// while a single subtree with more than one word remains,
+		// replace it with its own word and its children
+
+		while (stack.size() == 1 && !stack.peek().wordOnly && stack.peek().node.getWordCount() > 1) {
+			Frame<T> frame = stack.pop();
+			pushChildren(frame);
+			if (frame.node.isWord()) {
+				stack.push(new Frame<T>(null, frame.prefix, true));
+			}
+		}
+
+		// if there is nothing to split, return null
+
+		if (stack.size() < 2) {
+			return null;
+		}
+
+		// move subtrees from the head into a new stack until it holds
+		// about half of the words, always leaving at least one behind
+
+		ArrayDeque<Frame<T>> prefix = new ArrayDeque<Frame<T>>();
+		long taken = 0;
+
+		while (stack.size() > 1 && taken < remaining / 2) {
+			Frame<T> frame = stack.pop();
+			taken += frame.count();
+			prefix.addLast(frame);
+		}
+
+		this.remaining -= taken;
+		return new TrieSpliterator<T>(prefix, taken);
+	}
+
+	/**
+	 * Method that returns the number of words left to produce.
+	 *
+	 * @return long number of remaining words
+	 */
+
+	public long estimateSize() {
+		return this.remaining;
+	}
+
+	/**
+	 * Method that returns the characteristics of this spliterator. Words come out
+	 * in ascending order, are never repeated and are never null.
+	 *
+	 * @return int characteristics flags
+	 */
+
+	public int characteristics() {
+		return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+	}
+
+	/**
+	 * Method that returns null, since words are sorted in their natural order.
+	 *
+	 * @return null
+	 */
+
+	public java.util.Comparator<? super String> getComparator() {
+		return null;
+	}
+
+	/**
+	 * Helper method that pushes the children of a frame's node onto the stack
+	 * from right to left, so the child with the smallest character is on top.
+	 *
+	 * @param frame Frame whose children are pushed
+	 */
+
+	private void pushChildren(Frame<T> frame) {
+		TrieNode<T> child;
+
+		for (int i = frame.node.getChildSlots() - 1; i >= 0; i--) {
+			child = frame.node.getChildAt(i);
+			if (child != null) {
+				stack.push(new Frame<T>(child, frame.prefix + child.getCharacter(), false));
+			}
+		}
+	}
+
+	/**
+	 * Helper method that recursively passes every word in a subtree to the action
+	 * in ascending order, without creating any frames.
+	 *
+	 * @param node   TrieNode<T> root of the subtree
+	 * @param prefix String of characters on the path to node
+	 * @param action Consumer to receive the words
+	 */
+
+	private void forEachInSubtree(TrieNode<T> node, String prefix, Consumer<? super String> action) {
+		TrieNode<T> child;
+
+		if (node.isWord()) {
+			action.accept(prefix);
+		}
+
+		for (int i = 0; i < node.getChildSlots(); i++) {
+			child = node.getChildAt(i);
+			if (child != null) {
+				forEachInSubtree(child, prefix + child.getCharacter(), action);
+			}
+		}
+	}
+
+	/**
+	 * A pending unit of work: either a whole subtree, or just the word of a node
+	 * whose children have already been pushed separately.
+	 */
+
+	private static class Frame<T> {
+
+		private TrieNode<T> node; // root of the subtree (null if wordOnly)
+
+		private String prefix; // characters on the path to node
+
+		private boolean wordOnly; // true if the frame stands for its word only
+
+		private Frame(TrieNode<T> node, String prefix, boolean wordOnly) {
+			this.node = node;
+			this.prefix = prefix;
+			this.wordOnly = wordOnly;
+		}
+
+		private long count() {
+			return wordOnly ? 1 : node.getWordCount();
+		}
+	}
+}